@@ -0,0 +1,83 @@
+package com.inacioalves.beer.api.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.inacioalves.beer.api.availability.BeerAvailability;
+import com.inacioalves.beer.api.availability.BeerAvailabilityIndex;
+import com.inacioalves.beer.api.controller.BeerController;
+import com.inacioalves.beer.api.enums.BeerType;
+import com.inacioalves.beer.api.exception.BeerNotFoundException;
+
+/**
+ * Name lookups against a fully loaded availability index, alone and through the controller
+ * endpoint writing to a reused response. Run with {@code -prof gc} to confirm a lookup
+ * allocates nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeerAvailabilityBenchmark {
+	
+	@Param({ "1000000" })
+	private int beers;
+	
+	private BeerAvailabilityIndex availabilityIndex;
+	
+	private String[] names;
+	
+	private int next;
+	
+	private BeerController beerController;
+	
+	private final MockHttpServletResponse response = new MockHttpServletResponse();
+	
+	@Setup
+	public void setUp() {
+		availabilityIndex = new BeerAvailabilityIndex(beers, 16, 60_000);
+		names = new String[1024];
+		for (int id = 0; id < beers; id++) {
+			String name = "Benchmark Beer " + id;
+			availabilityIndex.put(id, name, id % 100, 100, BeerType.LAGER, 0L);
+			if (id % (beers / names.length) == 0 && id / (beers / names.length) < names.length) {
+				names[id / (beers / names.length)] = name;
+			}
+		}
+		for (int i = 0; i < names.length; i++) {
+			names[i].hashCode();
+		}
+		availabilityIndex.finishLoad();
+		beerController = new BeerController(null, null, null, null, null, availabilityIndex);
+	}
+	
+	@Benchmark
+	public int findByName() {
+		BeerAvailability availability = BeerAvailability.forCurrentThread();
+		availabilityIndex.find(names[next++ & (names.length - 1)], availability);
+		return availability.getQuantity();
+	}
+	
+	@Benchmark
+	public int availabilityEndpoint() throws IOException, BeerNotFoundException {
+		response.reset();
+		beerController.availability(names[next++ & (names.length - 1)], response);
+		return response.getContentLength();
+	}
+
+}
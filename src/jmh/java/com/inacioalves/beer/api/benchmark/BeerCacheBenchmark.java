@@ -0,0 +1,61 @@
+package com.inacioalves.beer.api.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.service.BeerService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class BeerCacheBenchmark {
+	
+	private static final int ROWS = 10_000;
+	private static final int HOT_BEERS = 100;
+	
+	@Param({"caffeine", "none"})
+	private String cacheType;
+	
+	private ConfigurableApplicationContext context;
+	
+	private BeerService beerService;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start("spring.cache.type=" + cacheType);
+		beerService = context.getBean(BeerService.class);
+		BenchmarkApplication.seed(beerService, ROWS);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+	
+	@Benchmark
+	public BeerDTO findHotBeerByName() throws Exception {
+		return beerService.findByName(BenchmarkApplication.name(ThreadLocalRandom.current().nextInt(HOT_BEERS)));
+	}
+
+}
@@ -0,0 +1,95 @@
+package com.inacioalves.beer.api.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.inacioalves.beer.api.service.BeerService;
+
+/**
+ * Drives GET /api/v1/beers over HTTP with more concurrent clients than Tomcat has platform
+ * worker threads. Run it on JDK 21+; both runs share the same pool, only the thread model differs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(400)
+@Fork(1)
+public class BeerControllerLoadBenchmark {
+	
+	private static final int ROWS = 10_000;
+	private static final int PLATFORM_WORKER_THREADS = 200;
+	
+	@Param({"false", "true"})
+	private boolean virtualThreads;
+	
+	private ConfigurableApplicationContext context;
+	
+	private ExecutorService clientExecutor;
+	
+	private HttpClient httpClient;
+	
+	private HttpRequest listRequest;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start(WebApplicationType.SERVLET,
+				"server.port=0",
+				"server.tomcat.threads.max=" + PLATFORM_WORKER_THREADS,
+				"server.tomcat.max-connections=20000",
+				"server.tomcat.accept-count=1000",
+				"spring.datasource.hikari.maximum-pool-size=50",
+				"spring.datasource.hikari.minimum-idle=50",
+				"spring.datasource.hikari.connection-timeout=2000",
+				"beer.rate-limit.enabled=false",
+				"beer.virtual-threads.enabled=" + virtualThreads);
+		BenchmarkApplication.seed(context.getBean(BeerService.class), ROWS);
+		int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+		
+		clientExecutor = Executors.newCachedThreadPool();
+		httpClient = HttpClient.newBuilder()
+				.executor(clientExecutor)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+		listRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/beers?page=10&size=50"))
+				.GET()
+				.build();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+		clientExecutor.shutdownNow();
+	}
+	
+	@Benchmark
+	public int listBeers() throws Exception {
+		return httpClient.send(listRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+}
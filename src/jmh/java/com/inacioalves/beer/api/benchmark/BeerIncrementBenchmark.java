@@ -0,0 +1,58 @@
+package com.inacioalves.beer.api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.service.BeerService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class BeerIncrementBenchmark {
+	
+	private ConfigurableApplicationContext context;
+	
+	private BeerService beerService;
+	
+	private Long hotBeerId;
+	
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		context = BenchmarkApplication.start();
+		beerService = context.getBean(BeerService.class);
+		BeerDTO hotBeer = BenchmarkApplication.beer(0);
+		hotBeer.setMax(Integer.MAX_VALUE);
+		hotBeer.setQuantity(0);
+		hotBeerId = beerService.createBeer(hotBeer).getId();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+	
+	@Benchmark
+	public BeerDTO incrementHotBeer() throws Exception {
+		return beerService.increment(hotBeerId, 1);
+	}
+
+}
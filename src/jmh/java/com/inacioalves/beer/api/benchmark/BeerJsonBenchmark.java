@@ -0,0 +1,58 @@
+package com.inacioalves.beer.api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.inacioalves.beer.api.dto.BeerDTO;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeerJsonBenchmark {
+	
+	private ObjectWriter beerWriter;
+	
+	private ObjectReader beerReader;
+	
+	private BeerDTO beerDTO;
+	
+	private byte[] beerJson;
+	
+	@Setup
+	public void setUp() throws JsonProcessingException {
+		ObjectMapper objectMapper = new ObjectMapper();
+		beerWriter = objectMapper.writerFor(BeerDTO.class);
+		beerReader = objectMapper.readerFor(BeerDTO.class);
+		beerDTO = BenchmarkApplication.beer(42);
+		beerDTO.setId(42L);
+		beerJson = beerWriter.writeValueAsBytes(beerDTO);
+	}
+	
+	@Benchmark
+	public byte[] serialize() throws JsonProcessingException {
+		return beerWriter.writeValueAsBytes(beerDTO);
+	}
+	
+	@Benchmark
+	public BeerDTO deserialize() throws Exception {
+		return beerReader.readValue(beerJson);
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.inacioalves.beer.api.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.dto.BeerFilterDTO;
+import com.inacioalves.beer.api.exception.BeerFieldNotSupportedException;
+import com.inacioalves.beer.api.service.BeerService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeerListingBenchmark {
+	
+	private static final int PAGE_SIZE = BeerService.MAX_PAGE_SIZE;
+	private static final List<String> NAME_AND_QUANTITY = List.of("name", "quantity");
+	
+	@Param({"1000", "100000"})
+	private int rows;
+	
+	private ConfigurableApplicationContext context;
+	
+	private BeerService beerService;
+	
+	private Long lastPageAfterId;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start();
+		beerService = context.getBean(BeerService.class);
+		List<Long> ids = BenchmarkApplication.seed(beerService, rows);
+		lastPageAfterId = ids.get(rows - PAGE_SIZE - 1);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+	
+	@Benchmark
+	public void exportAll(Blackhole blackhole) {
+		beerService.exportAll(blackhole::consume);
+	}
+	
+	@Benchmark
+	public Slice<BeerDTO> listFirstPage() {
+		return beerService.listAll(PageRequest.of(0, PAGE_SIZE, Sort.by("id")));
+	}
+	
+	@Benchmark
+	public Slice<Map<String, Object>> listFirstPageNameAndQuantity() throws BeerFieldNotSupportedException {
+		return beerService.listFields(NAME_AND_QUANTITY, new BeerFilterDTO(), null, PageRequest.of(0, PAGE_SIZE, Sort.by("id")));
+	}
+	
+	@Benchmark
+	public Slice<BeerDTO> listLastPageByOffset() {
+		return beerService.listAll(PageRequest.of(rows / PAGE_SIZE - 1, PAGE_SIZE, Sort.by("id")));
+	}
+	
+	@Benchmark
+	public Slice<BeerDTO> listLastPageByKeyset() {
+		return beerService.listAfter(lastPageAfterId, PAGE_SIZE);
+	}
+
+}
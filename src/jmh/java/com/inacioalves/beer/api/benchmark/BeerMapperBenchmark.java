@@ -0,0 +1,51 @@
+package com.inacioalves.beer.api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.entity.Beer;
+import com.inacioalves.beer.api.mapper.BeerMapper;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeerMapperBenchmark {
+	
+	private final BeerMapper beerMapper = BeerMapper.INSTACE;
+	
+	private BeerDTO beerDTO;
+	
+	private Beer beer;
+	
+	@Setup
+	public void setUp() {
+		beerDTO = BenchmarkApplication.beer(42);
+		beerDTO.setId(42L);
+		beer = beerMapper.toModel(beerDTO);
+	}
+	
+	@Benchmark
+	public BeerDTO toDTO() {
+		return beerMapper.toDTO(beer);
+	}
+	
+	@Benchmark
+	public Beer toModel() {
+		return beerMapper.toModel(beerDTO);
+	}
+
+}
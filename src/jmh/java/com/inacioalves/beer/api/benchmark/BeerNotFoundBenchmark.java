@@ -0,0 +1,80 @@
+package com.inacioalves.beer.api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.inacioalves.beer.api.exception.BeerNotFoundException;
+
+/**
+ * Not-found path before and after {@link BeerNotFoundException} became stackless: throws
+ * from {@code depth} frames down, roughly a servlet request stack, and reads the message
+ * the way the exception handler does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeerNotFoundBenchmark {
+
+	private static final String NAME = "Unregistered Beer";
+
+	@Param({ "20", "120" })
+	private int depth;
+
+	@Benchmark
+	public String formattedWithStackTrace() {
+		try {
+			throwFormatted(depth);
+			return null;
+		} catch (FormattedBeerNotFoundException e) {
+			return e.getMessage();
+		}
+	}
+
+	@Benchmark
+	public String stackless() {
+		try {
+			throwStackless(depth);
+			return null;
+		} catch (BeerNotFoundException e) {
+			return e.getMessage();
+		}
+	}
+
+	private static void throwFormatted(int depth) throws FormattedBeerNotFoundException {
+		if (depth == 0) {
+			throw new FormattedBeerNotFoundException(NAME);
+		}
+		throwFormatted(depth - 1);
+	}
+
+	private static void throwStackless(int depth) throws BeerNotFoundException {
+		if (depth == 0) {
+			throw new BeerNotFoundException(NAME);
+		}
+		throwStackless(depth - 1);
+	}
+
+	private static final class FormattedBeerNotFoundException extends Exception {
+
+		private static final long serialVersionUID = 1L;
+
+		private FormattedBeerNotFoundException(String beerName) {
+			super(String.format("Beer with name %s not found in the system.", beerName));
+		}
+
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.inacioalves.beer.api.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.inacioalves.beer.api.config.CborConfig;
+import com.inacioalves.beer.api.dto.BeerDTO;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeerPayloadFormatBenchmark {
+	
+	private static final int BEERS = 10_000;
+	
+	@Param({"json", "cbor"})
+	private String format;
+	
+	private ObjectWriter listWriter;
+	
+	private ObjectReader listReader;
+	
+	private List<BeerDTO> beers;
+	
+	private byte[] payload;
+	
+	@Setup
+	public void setUp() throws JsonProcessingException {
+		ObjectMapper objectMapper = "cbor".equals(format)
+				? CborConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json())
+				: Jackson2ObjectMapperBuilder.json().build();
+		listWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, BeerDTO.class));
+		listReader = objectMapper.readerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, BeerDTO.class));
+		beers = new ArrayList<>(BEERS);
+		for (int row = 0; row < BEERS; row++) {
+			BeerDTO beerDTO = BenchmarkApplication.beer(row);
+			beerDTO.setId((long) row + 1);
+			beers.add(beerDTO);
+		}
+		payload = listWriter.writeValueAsBytes(beers);
+		System.out.printf("%n%s payload for %d beers: %d bytes%n", format, BEERS, payload.length);
+	}
+	
+	@Benchmark
+	public byte[] encode() throws JsonProcessingException {
+		return listWriter.writeValueAsBytes(beers);
+	}
+	
+	@Benchmark
+	public List<BeerDTO> decode() throws IOException {
+		return listReader.readValue(payload);
+	}
+
+}
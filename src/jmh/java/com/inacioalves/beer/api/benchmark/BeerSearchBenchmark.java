@@ -0,0 +1,63 @@
+package com.inacioalves.beer.api.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.service.BeerService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeerSearchBenchmark {
+	
+	private static final int LIMIT = 10;
+	
+	@Param({"100000", "1000000"})
+	private int rows;
+	
+	private ConfigurableApplicationContext context;
+	
+	private BeerService beerService;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start();
+		beerService = context.getBean(BeerService.class);
+		BenchmarkApplication.seed(beerService, rows);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+	
+	@Benchmark
+	public List<BeerDTO> searchByNamePrefix() {
+		return beerService.search("beer 4242", LIMIT);
+	}
+	
+	@Benchmark
+	public List<BeerDTO> searchByBrandPrefix() {
+		return beerService.search("brand 42", LIMIT);
+	}
+
+}
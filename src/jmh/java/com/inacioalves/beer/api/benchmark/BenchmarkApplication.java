@@ -0,0 +1,72 @@
+package com.inacioalves.beer.api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.inacioalves.beer.api.BeerApiApplication;
+import com.inacioalves.beer.api.dto.BeerBatchResultDTO;
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.enums.BeerType;
+import com.inacioalves.beer.api.service.BeerService;
+
+final class BenchmarkApplication {
+	
+	private static final int SEED_CHUNK_SIZE = 1000;
+	
+	private BenchmarkApplication() {
+	}
+	
+	static ConfigurableApplicationContext start(String... properties) {
+		return start(WebApplicationType.NONE, properties);
+	}
+	
+	static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+		String[] args = new String[properties.length];
+		for (int i = 0; i < properties.length; i++) {
+			args[i] = "--" + properties[i];
+		}
+		return new SpringApplicationBuilder(BeerApiApplication.class)
+				.web(webApplicationType)
+				.bannerMode(Banner.Mode.OFF)
+				.properties(
+						"spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+						"logging.level.root=WARN")
+				.run(args);
+	}
+	
+	static List<Long> seed(BeerService beerService, int rows) {
+		List<Long> ids = new ArrayList<>(rows);
+		List<BeerDTO> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+		for (int row = 0; row < rows; row++) {
+			chunk.add(beer(row));
+			if (chunk.size() == SEED_CHUNK_SIZE || row == rows - 1) {
+				for (BeerBatchResultDTO result : beerService.createBeers(chunk)) {
+					ids.add(result.getBeer().getId());
+				}
+				chunk.clear();
+			}
+		}
+		return ids;
+	}
+	
+	static String name(int row) {
+		return "Beer " + row;
+	}
+	
+	static BeerDTO beer(int row) {
+		BeerType[] types = BeerType.values();
+		return BeerDTO.builder()
+				.name(name(row))
+				.brand("Brand " + (row % 100))
+				.max(500)
+				.quantity(row % 500)
+				.type(types[row % types.length])
+				.build();
+	}
+
+}
@@ -0,0 +1,24 @@
+package com.inacioalves.beer.api.alert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class InMemoryStockAlertSink implements StockAlertSink {
+	
+	private final List<StockAlert> alerts = new CopyOnWriteArrayList<>();
+	
+	@Override
+	public void publish(List<StockAlert> publishedAlerts) {
+		alerts.addAll(publishedAlerts);
+	}
+	
+	public List<StockAlert> getAlerts() {
+		return new ArrayList<>(alerts);
+	}
+	
+	public void clear() {
+		alerts.clear();
+	}
+
+}
@@ -0,0 +1,18 @@
+package com.inacioalves.beer.api.alert;
+
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class LoggingStockAlertSink implements StockAlertSink {
+	
+	@Override
+	public void publish(List<StockAlert> alerts) {
+		for (StockAlert alert : alerts) {
+			log.warn("{} for beer {} ({}): {}/{}", alert.getLevel().getDescription(), alert.getName(),
+					alert.getBeerId(), alert.getQuantity(), alert.getMax());
+		}
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.inacioalves.beer.api.alert;
+
+import com.inacioalves.beer.api.enums.BeerType;
+import com.inacioalves.beer.api.enums.StockAlertLevel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAlert {
+	
+	private Long beerId;
+	
+	private String name;
+	
+	private BeerType type;
+	
+	private int quantity;
+	
+	private int max;
+	
+	private StockAlertLevel level;
+
+}
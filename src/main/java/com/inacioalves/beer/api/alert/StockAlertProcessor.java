@@ -0,0 +1,85 @@
+package com.inacioalves.beer.api.alert;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.inacioalves.beer.api.alert.StockAlertProperties.StockThreshold;
+import com.inacioalves.beer.api.enums.StockAlertLevel;
+import com.inacioalves.beer.api.event.StockChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class StockAlertProcessor {
+	
+	private final StockAlertProperties properties;
+	private final StockAlertSink stockAlertSink;
+	private final BlockingQueue<StockChangedEvent> pendingEvents;
+	
+	public StockAlertProcessor(StockAlertProperties properties, StockAlertSink stockAlertSink) {
+		this.properties = properties;
+		this.stockAlertSink = stockAlertSink;
+		this.pendingEvents = new LinkedBlockingQueue<>(properties.getQueueCapacity());
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onStockChanged(StockChangedEvent event) {
+		if (!pendingEvents.offer(event)) {
+			log.warn("Stock alert queue is full, dropping change of beer {}", event.getBeerId());
+		}
+	}
+	
+	@Scheduled(fixedDelayString = "${beer.alerts.flush-interval-ms:1000}")
+	public void flush() {
+		List<StockChangedEvent> batch = new ArrayList<>();
+		while (pendingEvents.drainTo(batch, properties.getBatchSize()) > 0) {
+			publish(batch);
+			batch.clear();
+		}
+	}
+	
+	private void publish(List<StockChangedEvent> batch) {
+		Map<Long, StockChangedEvent> changesByBeer = new LinkedHashMap<>();
+		for (StockChangedEvent event : batch) {
+			changesByBeer.merge(event.getBeerId(), event, StockChangedEvent::followedBy);
+		}
+		List<StockAlert> alerts = new ArrayList<>();
+		for (StockChangedEvent change : changesByBeer.values()) {
+			StockAlertLevel level = crossedLevel(change);
+			if (level != null) {
+				alerts.add(StockAlert.builder()
+						.beerId(change.getBeerId())
+						.name(change.getName())
+						.type(change.getType())
+						.quantity(change.getQuantity())
+						.max(change.getMax())
+						.level(level)
+						.build());
+			}
+		}
+		if (!alerts.isEmpty()) {
+			stockAlertSink.publish(alerts);
+		}
+	}
+	
+	private StockAlertLevel crossedLevel(StockChangedEvent change) {
+		StockThreshold threshold = properties.thresholdFor(change.getType());
+		double lowQuantity = threshold.getLowRatio() * change.getMax();
+		double highQuantity = threshold.getHighRatio() * change.getMax();
+		if (change.getQuantity() <= lowQuantity && change.getPreviousQuantity() > lowQuantity) {
+			return StockAlertLevel.LOW_STOCK;
+		}
+		if (change.getQuantity() >= highQuantity && change.getPreviousQuantity() < highQuantity) {
+			return StockAlertLevel.NEAR_MAX;
+		}
+		return null;
+	}
+
+}
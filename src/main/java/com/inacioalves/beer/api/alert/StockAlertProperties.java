@@ -0,0 +1,37 @@
+package com.inacioalves.beer.api.alert;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.inacioalves.beer.api.enums.BeerType;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "beer.alerts")
+public class StockAlertProperties {
+	
+	private int queueCapacity = 10_000;
+	
+	private int batchSize = 500;
+	
+	private StockThreshold defaultThreshold = new StockThreshold();
+	
+	private Map<BeerType, StockThreshold> thresholds = new HashMap<>();
+	
+	public StockThreshold thresholdFor(BeerType type) {
+		return thresholds.getOrDefault(type, defaultThreshold);
+	}
+	
+	@Data
+	public static class StockThreshold {
+		
+		private double lowRatio = 0.1;
+		
+		private double highRatio = 0.9;
+		
+	}
+
+}
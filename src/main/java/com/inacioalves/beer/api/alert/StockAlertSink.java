@@ -0,0 +1,9 @@
+package com.inacioalves.beer.api.alert;
+
+import java.util.List;
+
+public interface StockAlertSink {
+	
+	void publish(List<StockAlert> alerts);
+
+}
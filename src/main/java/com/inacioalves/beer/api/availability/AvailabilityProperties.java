@@ -0,0 +1,17 @@
+package com.inacioalves.beer.api.availability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "beer.availability")
+public class AvailabilityProperties {
+	
+	private int initialCapacity = 65_536;
+	
+	private int averageNameLength = 24;
+	
+	private long tombstoneTtlMs = 60_000;
+
+}
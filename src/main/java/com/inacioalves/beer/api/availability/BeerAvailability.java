@@ -0,0 +1,119 @@
+package com.inacioalves.beer.api.availability;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.MediaType;
+
+import com.inacioalves.beer.api.enums.BeerType;
+
+/**
+ * Result of an availability lookup that writes itself as JSON straight to the response, so
+ * answering a lookup needs no DTO, no message converter and no buffer.
+ */
+public final class BeerAvailability {
+	
+	private static final byte[] ID = ascii("{\"id\":");
+	private static final byte[] QUANTITY = ascii(",\"quantity\":");
+	private static final byte[] MAX = ascii(",\"max\":");
+	private static final byte[] TYPE = ascii(",\"type\":\"");
+	private static final byte[] AVAILABLE = ascii("\",\"available\":true}");
+	private static final byte[] UNAVAILABLE = ascii("\",\"available\":false}");
+	private static final byte[][] TYPE_NAMES = typeNames();
+	private static final ThreadLocal<BeerAvailability> CURRENT = ThreadLocal.withInitial(BeerAvailability::new);
+	
+	private long id;
+	private int quantity;
+	private int max;
+	private BeerType type;
+	
+	/**
+	 * Holder reused by every lookup on the calling thread, valid until its next lookup.
+	 */
+	public static BeerAvailability forCurrentThread() {
+		return CURRENT.get();
+	}
+	
+	void set(long id, int quantity, int max, BeerType type) {
+		this.id = id;
+		this.quantity = quantity;
+		this.max = max;
+		this.type = type;
+	}
+	
+	public long getId() {
+		return id;
+	}
+	
+	public int getQuantity() {
+		return quantity;
+	}
+	
+	public int getMax() {
+		return max;
+	}
+	
+	public BeerType getType() {
+		return type;
+	}
+	
+	public boolean isAvailable() {
+		return quantity > 0;
+	}
+	
+	public void writeTo(HttpServletResponse response) throws IOException {
+		byte[] typeName = TYPE_NAMES[type.ordinal()];
+		byte[] availableSuffix = isAvailable() ? AVAILABLE : UNAVAILABLE;
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setContentLength(ID.length + digits(id) + QUANTITY.length + digits(quantity) + MAX.length + digits(max)
+				+ TYPE.length + typeName.length + availableSuffix.length);
+		OutputStream body = response.getOutputStream();
+		body.write(ID);
+		writeNumber(body, id);
+		body.write(QUANTITY);
+		writeNumber(body, quantity);
+		body.write(MAX);
+		writeNumber(body, max);
+		body.write(TYPE);
+		body.write(typeName);
+		body.write(availableSuffix);
+	}
+	
+	private static int digits(long value) {
+		int digits = value < 0 ? 2 : 1;
+		for (long rest = value / 10; rest != 0; rest /= 10) {
+			digits++;
+		}
+		return digits;
+	}
+	
+	private static void writeNumber(OutputStream body, long value) throws IOException {
+		if (value < 0) {
+			body.write('-');
+		}
+		long divisor = 1;
+		while (value / divisor / 10 != 0) {
+			divisor *= 10;
+		}
+		for (; divisor > 0; divisor /= 10) {
+			body.write('0' + (int) Math.abs(value / divisor % 10));
+		}
+	}
+	
+	private static byte[][] typeNames() {
+		BeerType[] types = BeerType.values();
+		byte[][] typeNames = new byte[types.length][];
+		for (BeerType type : types) {
+			typeNames[type.ordinal()] = ascii(type.name());
+		}
+		return typeNames;
+	}
+	
+	private static byte[] ascii(String value) {
+		return value.getBytes(StandardCharsets.US_ASCII);
+	}
+
+}
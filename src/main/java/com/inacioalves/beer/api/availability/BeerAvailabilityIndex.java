@@ -0,0 +1,439 @@
+package com.inacioalves.beer.api.availability;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+import com.inacioalves.beer.api.enums.BeerType;
+
+/**
+ * Availability of every beer kept in parallel primitive arrays, one slot per beer, found by
+ * name or id through open-addressing tables, with names in an off-heap char arena. Lookups
+ * allocate nothing and take no lock unless a write raced them; writes are serialized.
+ */
+public class BeerAvailabilityIndex {
+	
+	private static final int EMPTY = 0;
+	private static final long TOMBSTONE = Long.MAX_VALUE;
+	private static final int DELETED = -1;
+	private static final int MIN_TABLE_SIZE = 16;
+	private static final BeerType[] TYPES = BeerType.values();
+	
+	private final StampedLock lock = new StampedLock();
+	private final long tombstoneTtlNanos;
+	
+	private long[] ids;
+	private long[] versions;
+	private int[] quantities;
+	private int[] maxes;
+	private byte[] types;
+	private int[] nameHashes;
+	private int[] nameOffsets;
+	private int[] nameLengths;
+	private int freeSlot = -1;
+	private int slotCount;
+	private int size;
+	
+	private int[] nameTable;
+	private int usedNameBuckets;
+	private int[] idTable;
+	private int usedIdBuckets;
+	
+	private CharBuffer names;
+	private int namesEnd;
+	private int liveNameChars;
+	
+	private int[] tombstoneSlots = new int[MIN_TABLE_SIZE];
+	private long[] tombstoneTimes = new long[MIN_TABLE_SIZE];
+	private int firstTombstone;
+	private int tombstoneCount;
+	private boolean loading = true;
+	
+	public BeerAvailabilityIndex(int initialCapacity, int averageNameLength, long tombstoneTtlMs) {
+		tombstoneTtlNanos = TimeUnit.MILLISECONDS.toNanos(tombstoneTtlMs);
+		int capacity = Math.max(1, initialCapacity);
+		ids = new long[capacity];
+		versions = new long[capacity];
+		quantities = new int[capacity];
+		maxes = new int[capacity];
+		types = new byte[capacity];
+		nameHashes = new int[capacity];
+		nameOffsets = new int[capacity];
+		nameLengths = new int[capacity];
+		nameTable = new int[tableSizeFor(capacity)];
+		idTable = new int[tableSizeFor(capacity)];
+		names = allocateNames(Math.max(MIN_TABLE_SIZE, capacity * Math.max(1, averageNameLength)));
+	}
+	
+	public boolean find(String name, BeerAvailability into) {
+		long stamp = lock.tryOptimisticRead();
+		boolean found = read(name, into);
+		if (lock.validate(stamp)) {
+			return found;
+		}
+		stamp = lock.readLock();
+		try {
+			return read(name, into);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	/**
+	 * Stores the beer unless it was removed or the index already holds a newer version of it.
+	 */
+	public boolean put(long id, String name, int quantity, int max, BeerType type, long version) {
+		long stamp = lock.writeLock();
+		try {
+			purgeTombstones();
+			int slot = findIdSlot(id);
+			if (slot >= 0 && versions[slot] > version) {
+				return false;
+			}
+			upsert(id, name, quantity, max, type, version);
+			return true;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+	
+	/**
+	 * Leaves a tombstone in the beer's slot that rejects every later update. Tombstones are
+	 * kept during the startup load and for the configured time after it.
+	 */
+	public void remove(long id) {
+		long stamp = lock.writeLock();
+		try {
+			purgeTombstones();
+			int slot = findIdSlot(id);
+			if (slot < 0) {
+				slot = allocateSlot();
+				ids[slot] = id;
+				insertId(slot);
+			} else if (versions[slot] == TOMBSTONE) {
+				return;
+			} else {
+				deleteName(slot);
+				size--;
+			}
+			versions[slot] = TOMBSTONE;
+			nameLengths[slot] = -1;
+			addTombstone(slot);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+	
+	public void finishLoad() {
+		long stamp = lock.writeLock();
+		try {
+			loading = false;
+			purgeTombstones();
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+	
+	public int size() {
+		long stamp = lock.readLock();
+		try {
+			return size;
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	public long nameArenaBytes() {
+		long stamp = lock.readLock();
+		try {
+			return (long) names.capacity() * Character.BYTES;
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	/**
+	 * May run concurrently with a write, so it reads every array once and bounds-checks each
+	 * access; whatever it returns then is discarded by the stamp validation.
+	 */
+	private boolean read(String name, BeerAvailability into) {
+		int slot = findNameSlot(name, spread(name.hashCode()));
+		long[] slotIds = ids;
+		int[] slotQuantities = quantities;
+		int[] slotMaxes = maxes;
+		byte[] slotTypes = types;
+		if (slot < 0 || slot >= slotIds.length || slot >= slotQuantities.length || slot >= slotMaxes.length
+				|| slot >= slotTypes.length) {
+			return false;
+		}
+		into.set(slotIds[slot], slotQuantities[slot], slotMaxes[slot], TYPES[Math.floorMod(slotTypes[slot], TYPES.length)]);
+		return true;
+	}
+	
+	private void upsert(long id, String name, int quantity, int max, BeerType type, long version) {
+		int hash = spread(name.hashCode());
+		int slot = findIdSlot(id);
+		int sameName = findNameSlot(name, hash);
+		if (sameName >= 0 && sameName != slot) {
+			removeSlot(sameName);
+		}
+		if (slot < 0) {
+			slot = allocateSlot();
+			ids[slot] = id;
+			insertId(slot);
+			storeName(slot, name, hash);
+			size++;
+		} else if (sameName != slot) {
+			deleteName(slot);
+			storeName(slot, name, hash);
+		}
+		versions[slot] = version;
+		quantities[slot] = quantity;
+		maxes[slot] = max;
+		types[slot] = (byte) type.ordinal();
+	}
+	
+	private void removeSlot(int slot) {
+		deleteName(slot);
+		deleteId(slot);
+		nameOffsets[slot] = freeSlot;
+		freeSlot = slot;
+		size--;
+	}
+	
+	private void addTombstone(int slot) {
+		if (tombstoneCount == tombstoneSlots.length) {
+			int[] grownSlots = new int[tombstoneSlots.length * 2];
+			long[] grownTimes = new long[tombstoneTimes.length * 2];
+			for (int i = 0; i < tombstoneCount; i++) {
+				int index = (firstTombstone + i) & (tombstoneSlots.length - 1);
+				grownSlots[i] = tombstoneSlots[index];
+				grownTimes[i] = tombstoneTimes[index];
+			}
+			tombstoneSlots = grownSlots;
+			tombstoneTimes = grownTimes;
+			firstTombstone = 0;
+		}
+		int index = (firstTombstone + tombstoneCount) & (tombstoneSlots.length - 1);
+		tombstoneSlots[index] = slot;
+		tombstoneTimes[index] = System.nanoTime();
+		tombstoneCount++;
+	}
+	
+	private void purgeTombstones() {
+		if (loading) {
+			return;
+		}
+		long now = System.nanoTime();
+		while (tombstoneCount > 0 && now - tombstoneTimes[firstTombstone] >= tombstoneTtlNanos) {
+			int slot = tombstoneSlots[firstTombstone];
+			deleteId(slot);
+			nameOffsets[slot] = freeSlot;
+			freeSlot = slot;
+			firstTombstone = (firstTombstone + 1) & (tombstoneSlots.length - 1);
+			tombstoneCount--;
+		}
+	}
+	
+	private int allocateSlot() {
+		if (freeSlot >= 0) {
+			int slot = freeSlot;
+			freeSlot = nameOffsets[slot];
+			return slot;
+		}
+		if (slotCount == ids.length) {
+			int capacity = ids.length * 2;
+			ids = Arrays.copyOf(ids, capacity);
+			versions = Arrays.copyOf(versions, capacity);
+			quantities = Arrays.copyOf(quantities, capacity);
+			maxes = Arrays.copyOf(maxes, capacity);
+			types = Arrays.copyOf(types, capacity);
+			nameHashes = Arrays.copyOf(nameHashes, capacity);
+			nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+			nameLengths = Arrays.copyOf(nameLengths, capacity);
+		}
+		return slotCount++;
+	}
+	
+	private int findNameSlot(String name, int hash) {
+		int[] table = nameTable;
+		int mask = table.length - 1;
+		for (int probe = 0, bucket = hash & mask; probe < table.length; probe++, bucket = (bucket + 1) & mask) {
+			int entry = table[bucket];
+			if (entry == EMPTY) {
+				return -1;
+			}
+			if (entry != DELETED && nameMatches(entry - 1, name, hash)) {
+				return entry - 1;
+			}
+		}
+		return -1;
+	}
+	
+	private boolean nameMatches(int slot, String name, int hash) {
+		int[] hashes = nameHashes;
+		int[] offsets = nameOffsets;
+		int[] lengths = nameLengths;
+		CharBuffer arena = names;
+		if (slot >= hashes.length || slot >= offsets.length || slot >= lengths.length
+				|| hashes[slot] != hash || lengths[slot] != name.length()) {
+			return false;
+		}
+		int offset = offsets[slot];
+		if (offset < 0 || offset + name.length() > arena.capacity()) {
+			return false;
+		}
+		for (int i = 0; i < name.length(); i++) {
+			if (arena.get(offset + i) != name.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private int findIdSlot(long id) {
+		int mask = idTable.length - 1;
+		for (int bucket = spread(Long.hashCode(id)) & mask; ; bucket = (bucket + 1) & mask) {
+			int entry = idTable[bucket];
+			if (entry == EMPTY) {
+				return -1;
+			}
+			if (entry != DELETED && ids[entry - 1] == id) {
+				return entry - 1;
+			}
+		}
+	}
+	
+	private void insertId(int slot) {
+		if (overloaded(usedIdBuckets + 1, idTable)) {
+			idTable = rehash(idTable, size + tombstoneCount, liveSlot -> spread(Long.hashCode(ids[liveSlot])));
+			usedIdBuckets = size + tombstoneCount;
+		}
+		if (place(idTable, spread(Long.hashCode(ids[slot])), slot)) {
+			usedIdBuckets++;
+		}
+	}
+	
+	private void deleteId(int slot) {
+		clear(idTable, spread(Long.hashCode(ids[slot])), slot);
+	}
+	
+	private void storeName(int slot, String name, int hash) {
+		int length = name.length();
+		if (namesEnd + length > names.capacity()) {
+			compactNames(length);
+		}
+		for (int i = 0; i < length; i++) {
+			names.put(namesEnd + i, name.charAt(i));
+		}
+		nameHashes[slot] = hash;
+		nameOffsets[slot] = namesEnd;
+		nameLengths[slot] = length;
+		namesEnd += length;
+		liveNameChars += length;
+		if (overloaded(usedNameBuckets + 1, nameTable)) {
+			nameTable = rehash(nameTable, size, liveSlot -> nameHashes[liveSlot]);
+			usedNameBuckets = size;
+		}
+		if (place(nameTable, hash, slot)) {
+			usedNameBuckets++;
+		}
+	}
+	
+	private void deleteName(int slot) {
+		clear(nameTable, nameHashes[slot], slot);
+		liveNameChars -= nameLengths[slot];
+		nameLengths[slot] = -1;
+	}
+	
+	/**
+	 * Packs the live names in place while they fill at most half the arena, otherwise moves them
+	 * into an arena twice their size. Growing doubles the arena, so the direct buffers left to
+	 * the collector add up to less than the live one.
+	 */
+	private void compactNames(int extraChars) {
+		int neededChars = liveNameChars + extraChars;
+		CharBuffer compacted = neededChars * 2 > names.capacity() ? allocateNames(neededChars * 2) : names;
+		long[] namesByOffset = new long[slotCount];
+		int liveNames = 0;
+		for (int slot = 0; slot < slotCount; slot++) {
+			if (nameLengths[slot] > 0) {
+				namesByOffset[liveNames++] = ((long) nameOffsets[slot] << 32) | slot;
+			}
+		}
+		Arrays.sort(namesByOffset, 0, liveNames);
+		int end = 0;
+		for (int i = 0; i < liveNames; i++) {
+			int slot = (int) namesByOffset[i];
+			int offset = nameOffsets[slot];
+			for (int c = 0; c < nameLengths[slot]; c++) {
+				compacted.put(end + c, names.get(offset + c));
+			}
+			nameOffsets[slot] = end;
+			end += nameLengths[slot];
+		}
+		names = compacted;
+		namesEnd = end;
+	}
+	
+	private int[] rehash(int[] table, int entries, SlotHash slotHash) {
+		int[] rehashed = new int[Math.max(table.length, tableSizeFor(entries + 1))];
+		for (int entry : table) {
+			if (entry != EMPTY && entry != DELETED) {
+				place(rehashed, slotHash.of(entry - 1), entry - 1);
+			}
+		}
+		return rehashed;
+	}
+	
+	private static boolean place(int[] table, int hash, int slot) {
+		int mask = table.length - 1;
+		for (int bucket = hash & mask; ; bucket = (bucket + 1) & mask) {
+			if (table[bucket] == EMPTY || table[bucket] == DELETED) {
+				boolean wasEmpty = table[bucket] == EMPTY;
+				table[bucket] = slot + 1;
+				return wasEmpty;
+			}
+		}
+	}
+	
+	private static void clear(int[] table, int hash, int slot) {
+		int mask = table.length - 1;
+		for (int bucket = hash & mask; table[bucket] != EMPTY; bucket = (bucket + 1) & mask) {
+			if (table[bucket] == slot + 1) {
+				table[bucket] = DELETED;
+				return;
+			}
+		}
+	}
+	
+	private static boolean overloaded(int usedBuckets, int[] table) {
+		return (long) usedBuckets * 4 > (long) table.length * 3;
+	}
+	
+	private static int tableSizeFor(int entries) {
+		return Math.max(MIN_TABLE_SIZE, Integer.highestOneBit(Math.max(1, entries) * 2 - 1) << 1);
+	}
+	
+	private static int spread(int hash) {
+		int mixed = hash * 0x9E3779B9;
+		return mixed ^ (mixed >>> 16);
+	}
+	
+	private static CharBuffer allocateNames(int chars) {
+		return ByteBuffer.allocateDirect(chars * Character.BYTES)
+				.order(ByteOrder.nativeOrder())
+				.asCharBuffer();
+	}
+	
+	@FunctionalInterface
+	private interface SlotHash {
+		
+		int of(int slot);
+		
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.inacioalves.beer.api.availability;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.inacioalves.beer.api.event.BeerDeletedEvent;
+import com.inacioalves.beer.api.event.BeerSavedEvent;
+import com.inacioalves.beer.api.event.StockChangedEvent;
+import com.inacioalves.beer.api.service.BeerService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads the catalog from the primary into the {@link BeerAvailabilityIndex} before the instance
+ * reports ready, then applies every committed write from {@link BeerService}.
+ */
+@Slf4j
+public class BeerAvailabilitySync implements ApplicationRunner {
+	
+	private final BeerAvailabilityIndex availabilityIndex;
+	private final BeerService beerService;
+	private final TransactionTemplate transactionTemplate;
+	
+	public BeerAvailabilitySync(BeerAvailabilityIndex availabilityIndex, BeerService beerService,
+			PlatformTransactionManager transactionManager) {
+		this.availabilityIndex = availabilityIndex;
+		this.beerService = beerService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+	
+	@Override
+	public void run(ApplicationArguments args) {
+		long startedAt = System.nanoTime();
+		transactionTemplate.executeWithoutResult(status -> beerService.exportAll(beer -> availabilityIndex.put(
+				beer.getId(), beer.getName(), beer.getQuantity(), beer.getMax(), beer.getType(), beer.getVersion())));
+		availabilityIndex.finishLoad();
+		log.info("Indexed availability of {} beers in {} ms", availabilityIndex.size(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBeerSaved(BeerSavedEvent event) {
+		availabilityIndex.put(event.getBeerId(), event.getName(), event.getQuantity(), event.getMax(), event.getType(),
+				event.getVersion());
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onStockChanged(StockChangedEvent event) {
+		availabilityIndex.put(event.getBeerId(), event.getName(), event.getQuantity(), event.getMax(), event.getType(),
+				event.getVersion());
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBeerDeleted(BeerDeletedEvent event) {
+		availabilityIndex.remove(event.getBeerId());
+	}
+
+}
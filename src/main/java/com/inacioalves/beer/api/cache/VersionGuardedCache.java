@@ -0,0 +1,40 @@
+package com.inacioalves.beer.api.cache;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.inacioalves.beer.api.dto.BeerDTO;
+
+/**
+ * Skips puts of beers older than the ones this instance wrote, so a reader that loaded a row
+ * before a write committed cannot put it back after the write evicted it.
+ */
+public class VersionGuardedCache extends CaffeineCache {
+	
+	private final WrittenBeerVersions writtenBeerVersions;
+	
+	public VersionGuardedCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache, boolean allowNullValues,
+			WrittenBeerVersions writtenBeerVersions) {
+		super(name, cache, allowNullValues);
+		this.writtenBeerVersions = writtenBeerVersions;
+	}
+	
+	@Override
+	public void put(Object key, Object value) {
+		if (isCurrent(value)) {
+			super.put(key, value);
+		}
+	}
+	
+	@Override
+	public ValueWrapper putIfAbsent(Object key, Object value) {
+		if (isCurrent(value)) {
+			return super.putIfAbsent(key, value);
+		}
+		return get(key);
+	}
+	
+	private boolean isCurrent(Object value) {
+		return !(value instanceof BeerDTO) || writtenBeerVersions.isCurrent((BeerDTO) value);
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.inacioalves.beer.api.cache;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.event.BeerDeletedEvent;
+import com.inacioalves.beer.api.event.BeerSavedEvent;
+import com.inacioalves.beer.api.event.StockChangedEvent;
+
+import lombok.Value;
+
+/**
+ * Latest row this instance wrote for each beer name. Older rows, from a racing reader or a
+ * lagging replica, must not be cached or tagged.
+ */
+public class WrittenBeerVersions {
+	
+	private final Cache<String, WrittenVersion> writtenVersions;
+	private final AtomicReference<WrittenVersion> lastCommittedWrite = new AtomicReference<>();
+	
+	public WrittenBeerVersions(String cacheSpecification) {
+		this.writtenVersions = Caffeine.from(cacheSpecification).build();
+	}
+	
+	@EventListener
+	public void onBeerSaved(BeerSavedEvent event) {
+		record(event.getName(), event.getBeerId(), event.getVersion());
+	}
+	
+	@EventListener
+	public void onStockChanged(StockChangedEvent event) {
+		record(event.getName(), event.getBeerId(), event.getVersion());
+	}
+	
+	@EventListener
+	public void onBeerDeleted(BeerDeletedEvent event) {
+		record(event.getName(), event.getBeerId(), Long.MAX_VALUE);
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void afterBeerSaved(BeerSavedEvent event) {
+		lastCommittedWrite.set(new WrittenVersion(event.getBeerId(), event.getVersion()));
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void afterStockChanged(StockChangedEvent event) {
+		lastCommittedWrite.set(new WrittenVersion(event.getBeerId(), event.getVersion()));
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void afterBeerDeleted(BeerDeletedEvent event) {
+		lastCommittedWrite.set(new WrittenVersion(event.getBeerId(), Long.MAX_VALUE));
+	}
+	
+	/**
+	 * Whether the database read through {@code versionById} already holds the last write this
+	 * instance committed. Commits replicate in order, so it then holds the earlier ones too.
+	 */
+	public boolean isCaughtUp(Function<Long, Optional<Long>> versionById) {
+		WrittenVersion lastWrite = lastCommittedWrite.get();
+		if (lastWrite == null) {
+			return true;
+		}
+		Optional<Long> version = versionById.apply(lastWrite.getId());
+		if (lastWrite.getVersion() == Long.MAX_VALUE) {
+			return version.isEmpty();
+		}
+		return version.isPresent() && version.get() >= lastWrite.getVersion();
+	}
+	
+	public boolean isCurrent(BeerDTO beerDTO) {
+		WrittenVersion writtenVersion = writtenVersions.getIfPresent(beerDTO.getName());
+		return writtenVersion == null || !writtenVersion.isNewerThan(beerDTO.getId(), beerDTO.getVersion());
+	}
+	
+	private void record(String name, Long id, long version) {
+		WrittenVersion writtenVersion = new WrittenVersion(id, version);
+		writtenVersions.asMap().merge(name, writtenVersion,
+				(previous, next) -> previous.isNewerThan(next.getId(), next.getVersion()) ? previous : next);
+	}
+	
+	// Ids only grow, so a beer created again under the same name is newer than the deleted one.
+	@Value
+	private static class WrittenVersion {
+		
+		Long id;
+		
+		long version;
+		
+		boolean isNewerThan(Long otherId, long otherVersion) {
+			int byId = id.compareTo(otherId);
+			return byId > 0 || (byId == 0 && version > otherVersion);
+		}
+		
+	}
+
+}
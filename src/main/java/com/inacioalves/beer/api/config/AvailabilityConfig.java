@@ -0,0 +1,43 @@
+package com.inacioalves.beer.api.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.inacioalves.beer.api.availability.AvailabilityProperties;
+import com.inacioalves.beer.api.availability.BeerAvailabilityIndex;
+import com.inacioalves.beer.api.availability.BeerAvailabilitySync;
+import com.inacioalves.beer.api.service.BeerService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(AvailabilityProperties.class)
+public class AvailabilityConfig {
+	
+	public static final String INDEXED_BEERS_GAUGE = "beer.availability.beers";
+	public static final String NAME_ARENA_GAUGE = "beer.availability.name.arena";
+	
+	@Bean
+	public BeerAvailabilityIndex beerAvailabilityIndex(AvailabilityProperties availabilityProperties, MeterRegistry meterRegistry) {
+		BeerAvailabilityIndex availabilityIndex = new BeerAvailabilityIndex(availabilityProperties.getInitialCapacity(),
+				availabilityProperties.getAverageNameLength(), availabilityProperties.getTombstoneTtlMs());
+		Gauge.builder(INDEXED_BEERS_GAUGE, availabilityIndex, BeerAvailabilityIndex::size)
+				.register(meterRegistry);
+		Gauge.builder(NAME_ARENA_GAUGE, availabilityIndex, BeerAvailabilityIndex::nameArenaBytes)
+				.baseUnit("bytes")
+				.register(meterRegistry);
+		return availabilityIndex;
+	}
+	
+	@Bean
+	public BeerAvailabilitySync beerAvailabilitySync(BeerAvailabilityIndex beerAvailabilityIndex, BeerService beerService,
+			PlatformTransactionManager transactionManager) {
+		return new BeerAvailabilitySync(beerAvailabilityIndex, beerService, transactionManager);
+	}
+
+}
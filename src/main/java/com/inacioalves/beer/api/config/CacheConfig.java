@@ -0,0 +1,46 @@
+package com.inacioalves.beer.api.config;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.inacioalves.beer.api.cache.VersionGuardedCache;
+import com.inacioalves.beer.api.cache.WrittenBeerVersions;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+	
+	public static final String BEERS_BY_NAME_CACHE = "beersByName";
+	
+	
+	@Bean
+	public WrittenBeerVersions writtenBeerVersions(CacheProperties cacheProperties) {
+		return new WrittenBeerVersions(cacheProperties.getCaffeine().getSpec());
+	}
+	
+	@Bean
+	@ConditionalOnProperty(name = "spring.cache.type", havingValue = "caffeine", matchIfMissing = true)
+	public CacheManager cacheManager(CacheProperties cacheProperties, WrittenBeerVersions writtenBeerVersions) {
+		CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager() {
+			@Override
+			protected Cache createCaffeineCache(String name) {
+				return new VersionGuardedCache(name, createNativeCaffeineCache(name), isAllowNullValues(), writtenBeerVersions);
+			}
+		};
+		caffeineCacheManager.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+		caffeineCacheManager.setCacheNames(List.of(BEERS_BY_NAME_CACHE));
+		return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.inacioalves.beer.api.config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lets clients ask for {@code application/cbor} instead of JSON. JSON stays the default
+ * for requests that accept anything, and {@code BeerType} is written as its ordinal.
+ */
+@Configuration
+public class CborConfig {
+	
+	@Bean
+	@Profile("!reactive")
+	public WebMvcConfigurer cborWebMvcConfigurer(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+		ObjectMapper cborObjectMapper = cborObjectMapper(objectMapperBuilder);
+		return new WebMvcConfigurer() {
+			@Override
+			public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+				converters.add(new MappingJackson2CborHttpMessageConverter(cborObjectMapper));
+			}
+		};
+	}
+	
+	@Bean
+	@Profile("reactive")
+	public CodecCustomizer cborCodecCustomizer(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder objectMapperBuilder) {
+		ObjectMapper cborObjectMapper = cborObjectMapper(objectMapperBuilder);
+		return configurer -> {
+			// custom writers are consulted before the defaults, keep JSON first so it stays the default
+			configurer.customCodecs().register(new Jackson2JsonEncoder(objectMapper));
+			configurer.customCodecs().register(new SingleValueCborEncoder(cborObjectMapper));
+			configurer.customCodecs().register(new Jackson2CborDecoder(cborObjectMapper, MediaType.APPLICATION_CBOR));
+		};
+	}
+	
+	public static ObjectMapper cborObjectMapper(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+		return objectMapperBuilder
+				.factory(new CBORFactory())
+				.featuresToEnable(SerializationFeature.WRITE_ENUMS_USING_INDEX)
+				.build();
+	}
+	
+	/**
+	 * {@link Jackson2CborEncoder} only encodes single values, which is all the {@code Mono}
+	 * endpoints need.
+	 */
+	private static class SingleValueCborEncoder extends Jackson2CborEncoder {
+		
+		SingleValueCborEncoder(ObjectMapper cborObjectMapper) {
+			super(cborObjectMapper, MediaType.APPLICATION_CBOR);
+		}
+		
+		@Override
+		public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+				ResolvableType elementType, @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+			if (inputStream instanceof Mono) {
+				return Mono.from(inputStream)
+						.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints))
+						.flux();
+			}
+			return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+		}
+		
+	}
+
+}
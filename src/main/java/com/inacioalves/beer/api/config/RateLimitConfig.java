@@ -0,0 +1,53 @@
+package com.inacioalves.beer.api.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.inacioalves.beer.api.ratelimit.ClientRateLimiter;
+import com.inacioalves.beer.api.ratelimit.ConnectionPoolLoadShedder;
+import com.inacioalves.beer.api.ratelimit.RateLimitInterceptor;
+import com.inacioalves.beer.api.ratelimit.RateLimitProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "beer.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+	
+	private static final String BEER_API_PATH_PATTERN = "/api/v1/beers/**";
+	
+	@Bean
+	public ClientRateLimiter clientRateLimiter(RateLimitProperties rateLimitProperties, MeterRegistry meterRegistry) {
+		return new ClientRateLimiter(rateLimitProperties, meterRegistry);
+	}
+	
+	@Bean
+	public ConnectionPoolLoadShedder connectionPoolLoadShedder(DataSource dataSource, RateLimitProperties rateLimitProperties,
+			MeterRegistry meterRegistry) {
+		return new ConnectionPoolLoadShedder(dataSource, rateLimitProperties, meterRegistry);
+	}
+	
+	@Bean
+	public WebMvcConfigurer rateLimitWebMvcConfigurer(ClientRateLimiter clientRateLimiter,
+			ConnectionPoolLoadShedder connectionPoolLoadShedder, RateLimitProperties rateLimitProperties) {
+		RateLimitInterceptor rateLimitInterceptor = new RateLimitInterceptor(clientRateLimiter, connectionPoolLoadShedder,
+				rateLimitProperties);
+		return new WebMvcConfigurer() {
+			
+			@Override
+			public void addInterceptors(InterceptorRegistry registry) {
+				registry.addInterceptor(rateLimitInterceptor).addPathPatterns(BEER_API_PATH_PATTERN);
+			}
+		};
+	}
+
+}
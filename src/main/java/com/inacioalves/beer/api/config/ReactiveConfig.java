@@ -0,0 +1,77 @@
+package com.inacioalves.beer.api.config;
+
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inacioalves.beer.api.service.BeerService;
+
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig implements WebFluxConfigurer {
+	
+	public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+	
+	private final ObjectMapper objectMapper;
+	
+	public ReactiveConfig(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+	
+	@Bean
+	public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+		return new NettyReactiveWebServerFactory();
+	}
+	
+	@Bean
+	@ConfigurationProperties(prefix = "spring.datasource.hikari")
+	public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+		return dataSourceProperties.initializeDataSourceBuilder()
+				.type(HikariDataSource.class)
+				.build();
+	}
+	
+	@Bean
+	@Primary
+	public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+		return new JpaTransactionManager(entityManagerFactory);
+	}
+	
+	@Bean
+	@Order(1)
+	public CodecCustomizer ndjsonCodecCustomizer() {
+		MediaType ndjson = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+		Jackson2JsonEncoder encoder = new Jackson2JsonEncoder(objectMapper, MediaType.APPLICATION_JSON, ndjson);
+		encoder.setStreamingMediaTypes(List.of(ndjson));
+		return configurer -> configurer.defaultCodecs().jackson2JsonEncoder(encoder);
+	}
+	
+	@Override
+	public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+		ReactivePageableHandlerMethodArgumentResolver pageableResolver = new ReactivePageableHandlerMethodArgumentResolver();
+		pageableResolver.setMaxPageSize(BeerService.MAX_PAGE_SIZE);
+		configurer.addCustomResolver(pageableResolver);
+	}
+
+}
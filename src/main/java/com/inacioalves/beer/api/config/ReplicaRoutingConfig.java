@@ -0,0 +1,67 @@
+package com.inacioalves.beer.api.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.inacioalves.beer.api.routing.ReadYourWritesTracker;
+import com.inacioalves.beer.api.routing.ReplicaProperties;
+import com.inacioalves.beer.api.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Replaces the auto-configured data source with a primary and a replica pool behind one
+ * routing data source. The pools register their own {@code hikaricp.*} metrics.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(name = "beer.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+	
+	private static final String HIKARI_PROPERTIES_PREFIX = "spring.datasource.hikari";
+	private static final String PRIMARY_POOL_NAME = "beer-primary";
+	private static final String REPLICA_POOL_NAME = "beer-replica";
+	
+	@Bean
+	public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties replicaProperties) {
+		return new ReadYourWritesTracker(replicaProperties);
+	}
+	
+	@Bean
+	public DataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaProperties replicaProperties,
+			ReadYourWritesTracker readYourWritesTracker, Environment environment) {
+		MeterRegistry meterRegistry = Metrics.globalRegistry;
+		
+		HikariDataSource primaryDataSource = dataSourceProperties.initializeDataSourceBuilder()
+				.type(HikariDataSource.class)
+				.build();
+		Binder.get(environment).bind(HIKARI_PROPERTIES_PREFIX, Bindable.ofInstance(primaryDataSource));
+		primaryDataSource.setPoolName(PRIMARY_POOL_NAME);
+		primaryDataSource.setMetricRegistry(meterRegistry);
+		
+		HikariDataSource replicaDataSource = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.url(replicaProperties.getUrl())
+				.username(replicaProperties.getUsername())
+				.password(replicaProperties.getPassword())
+				.build();
+		replicaDataSource.setPoolName(REPLICA_POOL_NAME);
+		replicaDataSource.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+		replicaDataSource.setReadOnly(true);
+		replicaDataSource.setMetricRegistry(meterRegistry);
+		
+		return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, readYourWritesTracker, meterRegistry);
+	}
+
+}
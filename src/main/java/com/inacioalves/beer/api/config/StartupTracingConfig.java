@@ -0,0 +1,19 @@
+package com.inacioalves.beer.api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.inacioalves.beer.api.metrics.BeanInitializationTimer;
+
+@Configuration
+@ConditionalOnProperty(name = "beer.startup.trace.enabled", havingValue = "true", matchIfMissing = true)
+public class StartupTracingConfig {
+	
+	@Bean
+	public static BeanInitializationTimer beanInitializationTimer(@Value("${beer.startup.trace.top-beans:10}") int topBeans) {
+		return new BeanInitializationTimer(topBeans);
+	}
+
+}
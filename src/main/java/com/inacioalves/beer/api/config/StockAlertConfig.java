@@ -0,0 +1,30 @@
+package com.inacioalves.beer.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.inacioalves.beer.api.alert.LoggingStockAlertSink;
+import com.inacioalves.beer.api.alert.StockAlertProcessor;
+import com.inacioalves.beer.api.alert.StockAlertProperties;
+import com.inacioalves.beer.api.alert.StockAlertSink;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(StockAlertProperties.class)
+public class StockAlertConfig {
+	
+	@Bean
+	@ConditionalOnMissingBean
+	public StockAlertSink stockAlertSink() {
+		return new LoggingStockAlertSink();
+	}
+	
+	@Bean
+	public StockAlertProcessor stockAlertProcessor(StockAlertProperties stockAlertProperties, StockAlertSink stockAlertSink) {
+		return new StockAlertProcessor(stockAlertProperties, stockAlertSink);
+	}
+
+}
@@ -0,0 +1,26 @@
+package com.inacioalves.beer.api.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.inacioalves.beer.api.ledger.StockLedger;
+import com.inacioalves.beer.api.ledger.StockLedgerProperties;
+import com.inacioalves.beer.api.repository.StockMovementRepository;
+import com.inacioalves.beer.api.repository.StockSnapshotRepository;
+
+@Configuration
+@EnableConfigurationProperties(StockLedgerProperties.class)
+public class StockLedgerConfig {
+	
+	@Bean
+	public StockLedger stockLedger(StockLedgerProperties stockLedgerProperties, JdbcTemplate jdbcTemplate,
+			StockMovementRepository stockMovementRepository, StockSnapshotRepository stockSnapshotRepository,
+			PlatformTransactionManager transactionManager) {
+		return new StockLedger(stockLedgerProperties, jdbcTemplate, stockMovementRepository, stockSnapshotRepository,
+				transactionManager);
+	}
+
+}
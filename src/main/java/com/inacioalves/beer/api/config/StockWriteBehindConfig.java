@@ -0,0 +1,28 @@
+package com.inacioalves.beer.api.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.inacioalves.beer.api.repository.BeerRepository;
+import com.inacioalves.beer.api.stock.StockWriteBehindBuffer;
+import com.inacioalves.beer.api.stock.StockWriteBehindProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(StockWriteBehindProperties.class)
+public class StockWriteBehindConfig {
+	
+	@Bean
+	public StockWriteBehindBuffer stockWriteBehindBuffer(BeerRepository beerRepository, CacheManager cacheManager,
+			ApplicationEventPublisher eventPublisher, StockWriteBehindProperties stockWriteBehindProperties,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+		return new StockWriteBehindBuffer(beerRepository, cacheManager, eventPublisher, stockWriteBehindProperties, transactionManager,
+				meterRegistry);
+	}
+
+}
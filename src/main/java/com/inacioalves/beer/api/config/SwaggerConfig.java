@@ -2,7 +2,19 @@ package com.inacioalves.beer.api.config;
 
 import static springfox.documentation.builders.RequestHandlerSelectors.basePackage;
 
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.filter.OncePerRequestFilter;
 
 import springfox.documentation.builders.ApiInfoBuilder;
 import springfox.documentation.builders.PathSelectors;
@@ -10,9 +22,11 @@ import springfox.documentation.service.ApiInfo;
 import springfox.documentation.service.Contact;
 import springfox.documentation.spi.DocumentationType;
 import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
 import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
 @Configuration
+@Profile("!reactive")
 @EnableSwagger2
 public class SwaggerConfig {
 
@@ -23,8 +37,33 @@ public class SwaggerConfig {
 	private  static final String CONTACT_NAME="Inacio alves";
 	private  static final String CONTACT_GITHUB="https://github.com/inacioalv";
 	private  static final String CONTACT_EMAIL="junihomend@gmail.com";
+	private  static final String[] DOCUMENTATION_PATHS = {"/v2/api-docs", "/swagger-resources/*"};
 
 
+	/**
+	 * Scanning the handlers for documentation is skipped at startup unless
+	 * springfox.documentation.auto-startup is on (the dev profile), and runs on the first
+	 * documentation request instead.
+	 */
+	@Bean
+	public FilterRegistrationBean<OncePerRequestFilter> lazySwaggerStartFilter(
+			ObjectProvider<DocumentationPluginsBootstrapper> documentationPluginsBootstrapper) {
+		FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+			
+			@Override
+			protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+					throws ServletException, IOException {
+				DocumentationPluginsBootstrapper bootstrapper = documentationPluginsBootstrapper.getObject();
+				if (!bootstrapper.isRunning()) {
+					bootstrapper.start();
+				}
+				filterChain.doFilter(request, response);
+			}
+		});
+		registration.addUrlPatterns(DOCUMENTATION_PATHS);
+		return registration;
+	}
+
 	public Docket api() {
 		return new Docket(DocumentationType.SWAGGER_2)
 				.select()
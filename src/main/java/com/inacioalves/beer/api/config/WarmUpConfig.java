@@ -0,0 +1,36 @@
+package com.inacioalves.beer.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inacioalves.beer.api.service.BeerService;
+import com.inacioalves.beer.api.warmup.BeerWarmUp;
+import com.inacioalves.beer.api.warmup.HotBeerNames;
+import com.inacioalves.beer.api.warmup.WarmUpProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(WarmUpProperties.class)
+@ConditionalOnProperty(name = "beer.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpConfig {
+	
+	@Bean
+	public HotBeerNames hotBeerNames(WarmUpProperties warmUpProperties, CacheManager cacheManager, JdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager) {
+		return new HotBeerNames(warmUpProperties, cacheManager, jdbcTemplate, transactionManager);
+	}
+	
+	@Bean
+	public BeerWarmUp beerWarmUp(WarmUpProperties warmUpProperties, HotBeerNames hotBeerNames, BeerService beerService,
+			ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+		return new BeerWarmUp(warmUpProperties, hotBeerNames, beerService, objectMapper, meterRegistry);
+	}
+
+}
@@ -1,11 +1,24 @@
 package com.inacioalves.beer.api.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,53 +26,207 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inacioalves.beer.api.availability.BeerAvailability;
+import com.inacioalves.beer.api.availability.BeerAvailabilityIndex;
+import com.inacioalves.beer.api.cache.WrittenBeerVersions;
+import com.inacioalves.beer.api.dto.BeerBatchResultDTO;
 import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.dto.BeerFilterDTO;
 import com.inacioalves.beer.api.dto.QuantityDTO;
+import com.inacioalves.beer.api.dto.StockAdjustmentDTO;
+import com.inacioalves.beer.api.dto.StockAdjustmentResultDTO;
+import com.inacioalves.beer.api.dto.StockMovementDTO;
 import com.inacioalves.beer.api.exception.BeerAlreadyRegisteredException;
+import com.inacioalves.beer.api.exception.BeerFieldNotSupportedException;
 import com.inacioalves.beer.api.exception.BeerNotFoundException;
 import com.inacioalves.beer.api.exception.BeerStockExceededException;
+import com.inacioalves.beer.api.exception.BeerStockHistoryNotFoundException;
+import com.inacioalves.beer.api.exception.BeerStockInsufficientException;
+import com.inacioalves.beer.api.ledger.StockLedger;
 import com.inacioalves.beer.api.service.BeerService;
+import com.inacioalves.beer.api.service.CatalogVersion;
 
 import lombok.AllArgsConstructor;
 
 @RestController
+@Validated
+@Profile("!reactive")
 @RequestMapping("/api/v1/beers")
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class BeerController {
-
-
-			private final BeerService beerService;
-		
-		
-		 	@PostMapping
-		    @ResponseStatus(HttpStatus.CREATED)
-		    public BeerDTO createBeer(@RequestBody @Valid BeerDTO beerDTO) throws BeerAlreadyRegisteredException {
-		        return beerService.createBeer(beerDTO);
-		    }
-		 	
-		 	@GetMapping("/{name}")
-		 	public BeerDTO findByName(@PathVariable String name) throws BeerNotFoundException {
-		 		return beerService.findByName(name);
-		 	}
-		 	
-		 	
-		 	@GetMapping
-		 	public List<BeerDTO> listBeer(){
-		 		return beerService.listAll();
-		 	}
-		 	
-		 	@DeleteMapping("/{id}")
-		 	@ResponseStatus(HttpStatus.NO_CONTENT)
-		 	public void deleteById(@PathVariable Long id) throws BeerNotFoundException {
-		 		beerService.deleteById(id);
-		 	}
-		 	
-		 	@PatchMapping("/{id}/increment")
-		 	public BeerDTO increment(@PathVariable Long id,@RequestBody @Valid QuantityDTO quantityDTO) throws BeerStockExceededException, BeerNotFoundException {
-		 		return beerService.increment(id, quantityDTO.getQuantity());
-		 	}
+	
+	private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+	
+	private final BeerService beerService;
+	private final ObjectMapper objectMapper;
+	private final CatalogVersion catalogVersion;
+	private final WrittenBeerVersions writtenBeerVersions;
+	private final StockLedger stockLedger;
+	private final BeerAvailabilityIndex availabilityIndex;
+	
+	@PostMapping
+	@ResponseStatus(HttpStatus.CREATED)
+	public BeerDTO createBeer(@RequestBody @Valid BeerDTO beerDTO) throws BeerAlreadyRegisteredException {
+		return beerService.createBeer(beerDTO);
+	}
+	
+	@PostMapping("/batch")
+	public List<BeerBatchResultDTO> createBeers(@RequestBody List<@Valid BeerDTO> beersDTO) {
+		return beerService.createBeers(beersDTO);
+	}
+	
+	@GetMapping("/{name}")
+	public BeerDTO findByName(@PathVariable String name, WebRequest request, HttpServletResponse response) throws BeerNotFoundException {
+		BeerDTO beerDTO = beerService.findByName(name);
+		response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+		if (isBeerNotModified(request, beerDTO)) {
+			return null;
+		}
+		return beerDTO;
+	}
+	
+	@GetMapping(value = "/{name}", params = "fields")
+	public Map<String, Object> findFieldsByName(@PathVariable String name, @RequestParam List<String> fields)
+			throws BeerNotFoundException, BeerFieldNotSupportedException {
+		return beerService.findFieldsByName(name, fields);
+	}
+	
+	@GetMapping(params = "fields")
+	public Slice<Map<String, Object>> listBeerFields(@RequestParam List<String> fields,
+			@RequestParam(required = false) Long afterId, @Valid BeerFilterDTO filter,
+			@PageableDefault(size = 20, sort = "id") Pageable pageable, WebRequest request, HttpServletResponse response)
+			throws BeerFieldNotSupportedException {
+		response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+		if (isCatalogNotModified(request)) {
+			return null;
+		}
+		return beerService.listFields(fields, filter, afterId, pageable);
+	}
+	
+	@GetMapping
+	public Slice<BeerDTO> listBeer(@RequestParam(required = false) Long afterId, @Valid BeerFilterDTO filter,
+			@PageableDefault(size = 20, sort = "id") Pageable pageable, WebRequest request, HttpServletResponse response) {
+		response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+		if (isCatalogNotModified(request)) {
+			return null;
+		}
+		if (!filter.isEmpty()) {
+			return beerService.listMatching(filter, afterId, pageable);
+		}
+		if (afterId != null) {
+			return beerService.listAfter(afterId, pageable.getPageSize());
+		}
+		return beerService.listAll(pageable);
+	}
+	
+	@GetMapping("/search")
+	public List<BeerDTO> searchBeers(@RequestParam("q") String query,
+			@RequestParam(defaultValue = "10") int limit) {
+		return beerService.search(query, limit);
+	}
+	
+	@GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> listAllBeers(WebRequest request) {
+		if (isCatalogNotModified(request)) {
+			return null;
+		}
+		StreamingResponseBody listBody = outputStream -> {
+			try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+				generator.writeStartArray();
+				beerService.exportAll(beerDTO -> writeBeer(generator, beerDTO, false));
+				generator.writeEndArray();
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+		};
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(listBody);
+	}
+	
+	@GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> exportBeers() {
+		StreamingResponseBody exportBody = outputStream -> {
+			try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+				generator.setRootValueSeparator(null);
+				beerService.exportAll(beerDTO -> writeBeer(generator, beerDTO, true));
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+		};
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+				.body(exportBody);
+	}
+	
+	@GetMapping("/{id}/movements")
+	public Slice<StockMovementDTO> listMovements(@PathVariable Long id, @RequestParam(required = false) Long beforeId,
+			@RequestParam(defaultValue = "20") int size) {
+		return stockLedger.history(id, beforeId, size);
+	}
+	
+	@GetMapping("/{id}/quantity")
+	public QuantityDTO quantityAt(@PathVariable Long id, @RequestParam Instant at) throws BeerStockHistoryNotFoundException {
+		return QuantityDTO.builder().quantity(stockLedger.quantityAt(id, at)).build();
+	}
+	
+	@GetMapping("/{name}/availability")
+	public void availability(@PathVariable String name, HttpServletResponse response) throws IOException, BeerNotFoundException {
+		BeerAvailability availability = BeerAvailability.forCurrentThread();
+		if (!availabilityIndex.find(name, availability)) {
+			throw new BeerNotFoundException(name);
+		}
+		availability.writeTo(response);
+	}
+	
+	@DeleteMapping("/{id}")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void deleteById(@PathVariable Long id) throws BeerNotFoundException {
+		beerService.deleteById(id);
+	}
+	
+	@PatchMapping("/{id}/increment")
+	public BeerDTO increment(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO) throws BeerStockExceededException, BeerNotFoundException {
+		return beerService.increment(id, quantityDTO.getQuantity());
+	}
+	
+	@PatchMapping("/stock")
+	public List<StockAdjustmentResultDTO> adjustStock(@RequestBody List<@Valid StockAdjustmentDTO> adjustments,
+			@RequestParam(defaultValue = "true") boolean atomic)
+			throws BeerNotFoundException, BeerStockExceededException, BeerStockInsufficientException {
+		return beerService.adjustStock(adjustments, atomic);
+	}
+	
+	private boolean isBeerNotModified(WebRequest request, BeerDTO beerDTO) {
+		return writtenBeerVersions.isCurrent(beerDTO)
+				&& request.checkNotModified("W/\"" + beerDTO.getId() + "-" + beerDTO.getVersion() + "-" + beerDTO.getQuantity() + "\"");
+	}
+	
+	private boolean isCatalogNotModified(WebRequest request) {
+		String catalogETag = catalogVersion.currentETag();
+		return catalogETag != null && request.checkNotModified(catalogETag);
+	}
+	
+	private void writeBeer(JsonGenerator generator, BeerDTO beerDTO, boolean lineDelimited) {
+		try {
+			generator.writeObject(beerDTO);
+			if (lineDelimited) {
+				generator.writeRaw('\n');
+			}
+			if (generator.getOutputContext().getEntryCount() == 1) {
+				generator.flush();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
 
 }
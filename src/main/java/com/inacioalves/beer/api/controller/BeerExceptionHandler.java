@@ -0,0 +1,60 @@
+package com.inacioalves.beer.api.controller;
+
+import java.util.stream.Collectors;
+
+import javax.validation.ConstraintViolationException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.inacioalves.beer.api.dto.ErrorDTO;
+import com.inacioalves.beer.api.exception.BeerAlreadyRegisteredException;
+import com.inacioalves.beer.api.exception.BeerFieldNotSupportedException;
+import com.inacioalves.beer.api.exception.BeerNotFoundException;
+import com.inacioalves.beer.api.exception.BeerRejectedException;
+import com.inacioalves.beer.api.exception.BeerStockExceededException;
+import com.inacioalves.beer.api.exception.BeerStockHistoryNotFoundException;
+import com.inacioalves.beer.api.exception.BeerStockInsufficientException;
+
+/**
+ * Maps rejected beer requests and constraint violations to their status and an {@link ErrorDTO}
+ * body, for both the servlet and the reactive controllers.
+ */
+@RestControllerAdvice
+public class BeerExceptionHandler {
+
+	@ExceptionHandler({ BeerNotFoundException.class, BeerStockHistoryNotFoundException.class })
+	public ResponseEntity<ErrorDTO> handleNotFound(BeerRejectedException e) {
+		return error(HttpStatus.NOT_FOUND, e);
+	}
+
+	@ExceptionHandler({ BeerAlreadyRegisteredException.class, BeerFieldNotSupportedException.class,
+			BeerStockExceededException.class, BeerStockInsufficientException.class })
+	public ResponseEntity<ErrorDTO> handleBadRequest(BeerRejectedException e) {
+		return error(HttpStatus.BAD_REQUEST, e);
+	}
+
+	@ExceptionHandler(ConstraintViolationException.class)
+	public ResponseEntity<ErrorDTO> handleConstraintViolation(ConstraintViolationException e) {
+		String message = e.getConstraintViolations().stream()
+				.map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+				.sorted()
+				.collect(Collectors.joining(", "));
+		return error(HttpStatus.BAD_REQUEST, message);
+	}
+
+	private ResponseEntity<ErrorDTO> error(HttpStatus status, BeerRejectedException e) {
+		return error(status, e.getMessage());
+	}
+
+	private ResponseEntity<ErrorDTO> error(HttpStatus status, String message) {
+		return ResponseEntity.status(status).body(ErrorDTO.builder()
+				.status(status.value())
+				.error(status.getReasonPhrase())
+				.message(message)
+				.build());
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.inacioalves.beer.api.controller;
+
+import javax.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.inacioalves.beer.api.config.ReactiveConfig;
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.dto.QuantityDTO;
+import com.inacioalves.beer.api.service.ReactiveBeerService;
+
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/beers")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ReactiveBeerController {
+	
+	private final ReactiveBeerService reactiveBeerService;
+	
+	@PostMapping
+	@ResponseStatus(HttpStatus.CREATED)
+	public Mono<BeerDTO> createBeer(@RequestBody @Valid BeerDTO beerDTO) {
+		return reactiveBeerService.createBeer(beerDTO);
+	}
+	
+	@GetMapping("/{name}")
+	public Mono<BeerDTO> findByName(@PathVariable String name) {
+		return reactiveBeerService.findByName(name);
+	}
+	
+	@GetMapping
+	public Mono<Slice<BeerDTO>> listBeer(@RequestParam(required = false) Long afterId,
+			@PageableDefault(size = 20, sort = "id") Pageable pageable) {
+		if (afterId != null) {
+			return reactiveBeerService.listAfter(afterId, pageable.getPageSize());
+		}
+		return reactiveBeerService.listAll(pageable);
+	}
+	
+	@GetMapping(value = "/export", produces = ReactiveConfig.APPLICATION_NDJSON_VALUE)
+	public Flux<BeerDTO> exportBeers() {
+		return reactiveBeerService.exportAll();
+	}
+	
+	@DeleteMapping("/{id}")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public Mono<Void> deleteById(@PathVariable Long id) {
+		return reactiveBeerService.deleteById(id);
+	}
+	
+	@PatchMapping("/{id}/increment")
+	public Mono<BeerDTO> increment(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO) {
+		return reactiveBeerService.increment(id, quantityDTO.getQuantity());
+	}
+
+}
@@ -0,0 +1,24 @@
+package com.inacioalves.beer.api.dto;
+
+import com.inacioalves.beer.api.enums.BeerBatchStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerBatchResultDTO {
+	
+	private int index;
+	
+	private String name;
+	
+	private BeerBatchStatus status;
+	
+	private BeerDTO beer;
+
+}
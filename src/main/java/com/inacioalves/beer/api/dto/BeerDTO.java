@@ -40,6 +40,8 @@ public class BeerDTO {
 	@NotNull
 	@Enumerated(EnumType.STRING)
 	private BeerType type;
+	
+	private long version;
 
 
 }
@@ -0,0 +1,43 @@
+package com.inacioalves.beer.api.dto;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+
+import com.inacioalves.beer.api.enums.BeerType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerFilterDTO {
+	
+	private BeerType type;
+	
+	private String brand;
+	
+	@Min(0)
+	private Integer minQuantity;
+	
+	@Min(0)
+	private Integer maxQuantity;
+	
+	@DecimalMin("0.0")
+	@DecimalMax("1.0")
+	private Double minFillRatio;
+	
+	@DecimalMin("0.0")
+	@DecimalMax("1.0")
+	private Double maxFillRatio;
+	
+	public boolean isEmpty() {
+		return type == null && brand == null && minQuantity == null && maxQuantity == null
+				&& minFillRatio == null && maxFillRatio == null;
+	}
+
+}
@@ -0,0 +1,20 @@
+package com.inacioalves.beer.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorDTO {
+	
+	private int status;
+	
+	private String error;
+	
+	private String message;
+
+}
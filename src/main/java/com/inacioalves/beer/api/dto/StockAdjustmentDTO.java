@@ -0,0 +1,22 @@
+package com.inacioalves.beer.api.dto;
+
+import javax.validation.constraints.NotNull;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentDTO {
+	
+	@NotNull
+	private Long id;
+	
+	@NotNull
+	private Integer quantity;
+
+}
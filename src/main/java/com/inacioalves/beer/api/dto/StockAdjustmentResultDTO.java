@@ -0,0 +1,26 @@
+package com.inacioalves.beer.api.dto;
+
+import com.inacioalves.beer.api.enums.StockAdjustmentStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentResultDTO {
+	
+	private int index;
+	
+	private Long id;
+	
+	private int quantity;
+	
+	private StockAdjustmentStatus status;
+	
+	private BeerDTO beer;
+
+}
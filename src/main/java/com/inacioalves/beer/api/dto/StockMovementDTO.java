@@ -0,0 +1,26 @@
+package com.inacioalves.beer.api.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementDTO {
+	
+	private Long id;
+	
+	private Long beerId;
+	
+	private int delta;
+	
+	private int quantity;
+	
+	private Instant occurredAt;
+
+}
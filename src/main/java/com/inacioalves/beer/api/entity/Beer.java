@@ -1,5 +1,7 @@
 package com.inacioalves.beer.api.entity;
 
+import java.util.Locale;
+
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
@@ -7,6 +9,12 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Version;
 
 import com.inacioalves.beer.api.enums.BeerType;
 
@@ -16,12 +24,20 @@ import lombok.NoArgsConstructor;
 
 @Data
 @Entity
+@Table(indexes = {
+		@Index(name = "idx_beer_search_name", columnList = "searchName"),
+		@Index(name = "idx_beer_search_brand", columnList = "searchBrand, searchName"),
+		@Index(name = "idx_beer_type_quantity", columnList = "type, quantity")})
 @NoArgsConstructor
 @AllArgsConstructor
 public class Beer {
 	
+	public static final int ID_ALLOCATION_SIZE = 50;
+	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@org.springframework.data.annotation.Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "beer_sequence")
+	@SequenceGenerator(name = "beer_sequence", sequenceName = "beer_sequence", allocationSize = ID_ALLOCATION_SIZE)
 	private Long id;
 	
 	@Column(nullable = false ,unique = true)
@@ -41,5 +57,21 @@ public class Beer {
 	@Column(nullable = false)
 	private BeerType type;
 	
+	@Column(nullable = false)
+	private String searchName;
+	
+	@Column(nullable = false)
+	private String searchBrand;
+	
+	@Version
+	@Column(nullable = false)
+	private long version;
+	
+	@PrePersist
+	@PreUpdate
+	void updateSearchColumns() {
+		searchName = name.toLowerCase(Locale.ROOT);
+		searchBrand = brand.toLowerCase(Locale.ROOT);
+	}
 
 }
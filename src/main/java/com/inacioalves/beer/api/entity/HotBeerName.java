@@ -0,0 +1,23 @@
+package com.inacioalves.beer.api.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotBeerName {
+	
+	@Id
+	private String name;
+	
+	@Column(nullable = false)
+	private int hotRank;
+
+}
@@ -0,0 +1,40 @@
+package com.inacioalves.beer.api.entity;
+
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity
+@Table(indexes = @Index(name = "idx_stock_snapshot_beer", columnList = "beerId, movementId"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSnapshot {
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	@Column(nullable = false)
+	private Long beerId;
+	
+	@Column(nullable = false)
+	private int quantity;
+	
+	@Column(nullable = false)
+	private Long movementId;
+	
+	@Column(nullable = false)
+	private Instant takenAt;
+
+}
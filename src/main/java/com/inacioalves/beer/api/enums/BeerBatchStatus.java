@@ -0,0 +1,16 @@
+package com.inacioalves.beer.api.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum BeerBatchStatus {
+	
+	CREATED("Created"),
+	ALREADY_REGISTERED("Already registered"),
+	DUPLICATED_IN_REQUEST("Duplicated in request");
+	
+	private final String description;
+
+}
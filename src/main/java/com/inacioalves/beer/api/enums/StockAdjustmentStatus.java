@@ -0,0 +1,17 @@
+package com.inacioalves.beer.api.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum StockAdjustmentStatus {
+	
+	APPLIED("Applied"),
+	NOT_FOUND("Not found"),
+	STOCK_EXCEEDED("Stock exceeded"),
+	STOCK_INSUFFICIENT("Stock insufficient");
+	
+	private final String description;
+
+}
@@ -0,0 +1,15 @@
+package com.inacioalves.beer.api.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum StockAlertLevel {
+	
+	LOW_STOCK("Low stock"),
+	NEAR_MAX("Near max");
+	
+	private final String description;
+
+}
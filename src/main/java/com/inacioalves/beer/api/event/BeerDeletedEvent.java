@@ -0,0 +1,12 @@
+package com.inacioalves.beer.api.event;
+
+import lombok.Value;
+
+@Value
+public class BeerDeletedEvent {
+	
+	Long beerId;
+	
+	String name;
+
+}
@@ -0,0 +1,22 @@
+package com.inacioalves.beer.api.event;
+
+import com.inacioalves.beer.api.enums.BeerType;
+
+import lombok.Value;
+
+@Value
+public class BeerSavedEvent {
+	
+	Long beerId;
+	
+	String name;
+	
+	BeerType type;
+	
+	int quantity;
+	
+	int max;
+	
+	long version;
+
+}
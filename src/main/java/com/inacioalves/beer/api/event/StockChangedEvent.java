@@ -0,0 +1,29 @@
+package com.inacioalves.beer.api.event;
+
+import com.inacioalves.beer.api.enums.BeerType;
+
+import lombok.Value;
+
+@Value
+public class StockChangedEvent {
+	
+	Long beerId;
+	
+	String name;
+	
+	BeerType type;
+	
+	int previousQuantity;
+	
+	int quantity;
+	
+	int max;
+	
+	long version;
+	
+	public StockChangedEvent followedBy(StockChangedEvent next) {
+		return new StockChangedEvent(beerId, next.getName(), next.getType(), previousQuantity, next.getQuantity(), next.getMax(),
+				next.getVersion());
+	}
+
+}
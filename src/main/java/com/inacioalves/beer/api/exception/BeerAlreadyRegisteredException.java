@@ -1,16 +1,19 @@
 package com.inacioalves.beer.api.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
-
-@ResponseStatus(HttpStatus.BAD_REQUEST)
-public class BeerAlreadyRegisteredException extends Exception {
+public class BeerAlreadyRegisteredException extends BeerRejectedException {
 	
 	
 	private static final long serialVersionUID = 1L;
 
+	private final String beerName;
+
 	public BeerAlreadyRegisteredException(String beerName) {
-		 super(String.format("Beer with name %s already registered in the system.", beerName));
+		this.beerName = beerName;
+	}
+
+	@Override
+	protected String describe() {
+		return "Beer with name " + beerName + " already registered in the system.";
 	}
 
 }
@@ -0,0 +1,25 @@
+package com.inacioalves.beer.api.exception;
+
+import java.util.Collection;
+
+public class BeerFieldNotSupportedException extends BeerRejectedException {
+	
+	
+	private static final long serialVersionUID = 1L;
+
+	private final String field;
+
+	private final Collection<String> supportedFields;
+	
+	public BeerFieldNotSupportedException(String field, Collection<String> supportedFields) {
+		this.field = field;
+		this.supportedFields = supportedFields;
+	}
+
+	@Override
+	protected String describe() {
+		return "Field " + field + " is not supported. Supported fields: "
+				+ (supportedFields == null ? "" : String.join(", ", supportedFields)) + ".";
+	}
+
+}
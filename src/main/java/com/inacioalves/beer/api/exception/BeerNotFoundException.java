@@ -1,22 +1,29 @@
 package com.inacioalves.beer.api.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
-
-@ResponseStatus(HttpStatus.NOT_FOUND)
-public class BeerNotFoundException extends Exception{
+public class BeerNotFoundException extends BeerRejectedException {
 
 	
 	private static final long serialVersionUID = 1L;
+
+	private final String beerName;
+
+	private final Long id;
 	
 	public BeerNotFoundException(String beerName) {
-		super(String.format("Beer with name %s not found in the system.", beerName));
+		this.beerName = beerName;
+		this.id = null;
 	}
 	
 	public BeerNotFoundException(Long id) {
-		super(String.format("Beer with id %s not found in the system.", id));
+		this.beerName = null;
+		this.id = id;
+	}
+
+	@Override
+	protected String describe() {
+		return beerName != null
+				? "Beer with name " + beerName + " not found in the system."
+				: "Beer with id " + id + " not found in the system.";
 	}
-	
-	
 
 }
@@ -0,0 +1,38 @@
+package com.inacioalves.beer.api.exception;
+
+import com.inacioalves.beer.api.enums.BeerType;
+
+/**
+ * Base of the checked exceptions that reject a request. They are thrown on the normal request
+ * path, so they skip the stack trace and only format their message when it is read.
+ */
+public abstract class BeerRejectedException extends Exception {
+
+	private static final long serialVersionUID = 1L;
+
+	private final BeerType beerType;
+
+	protected BeerRejectedException() {
+		this(null);
+	}
+
+	protected BeerRejectedException(BeerType beerType) {
+		super(null, null, false, false);
+		this.beerType = beerType;
+	}
+
+	/**
+	 * Type of the rejected beer, null when the rejection is not about an existing beer.
+	 */
+	public BeerType getBeerType() {
+		return beerType;
+	}
+
+	@Override
+	public String getMessage() {
+		return describe();
+	}
+
+	protected abstract String describe();
+
+}
@@ -1,18 +1,25 @@
 package com.inacioalves.beer.api.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
+import com.inacioalves.beer.api.enums.BeerType;
 
-@ResponseStatus(HttpStatus.BAD_REQUEST)
-public class BeerStockExceededException extends Exception {
+public class BeerStockExceededException extends BeerRejectedException {
 
 	
 	private static final long serialVersionUID = 1L;
+
+	private final Long id;
+
+	private final int quantityToIncrement;
 	
-	public BeerStockExceededException(Long id, int quantityToIncrement) {
-        super(String.format("Beers with %s ID to increment informed exceeds the max stock capacity: %s", id, quantityToIncrement));
+	public BeerStockExceededException(Long id, BeerType beerType, int quantityToIncrement) {
+		super(beerType);
+		this.id = id;
+		this.quantityToIncrement = quantityToIncrement;
+	}
 
+	@Override
+	protected String describe() {
+		return "Beers with " + id + " ID to increment informed exceeds the max stock capacity: " + quantityToIncrement;
 	}
-	
 
 }
@@ -0,0 +1,23 @@
+package com.inacioalves.beer.api.exception;
+
+import java.time.Instant;
+
+public class BeerStockHistoryNotFoundException extends BeerRejectedException {
+	
+	private static final long serialVersionUID = 1L;
+
+	private final Long id;
+
+	private final Instant at;
+	
+	public BeerStockHistoryNotFoundException(Long id, Instant at) {
+		this.id = id;
+		this.at = at;
+	}
+
+	@Override
+	protected String describe() {
+		return "Beer with id " + id + " has no recorded stock movements at " + at + ".";
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.inacioalves.beer.api.exception;
+
+import com.inacioalves.beer.api.enums.BeerType;
+
+public class BeerStockInsufficientException extends BeerRejectedException {
+
+	
+	private static final long serialVersionUID = 1L;
+
+	private final Long id;
+
+	private final int quantityToDecrement;
+	
+	public BeerStockInsufficientException(Long id, BeerType beerType, int quantityToDecrement) {
+		super(beerType);
+		this.id = id;
+		this.quantityToDecrement = quantityToDecrement;
+	}
+
+	@Override
+	protected String describe() {
+		return "Beers with " + id + " ID to decrement informed exceeds the available stock: " + quantityToDecrement;
+	}
+
+}
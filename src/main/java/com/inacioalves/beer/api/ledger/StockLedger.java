@@ -0,0 +1,210 @@
+package com.inacioalves.beer.api.ledger;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.inacioalves.beer.api.dto.StockMovementDTO;
+import com.inacioalves.beer.api.entity.StockMovement;
+import com.inacioalves.beer.api.entity.StockSnapshot;
+import com.inacioalves.beer.api.event.StockChangedEvent;
+import com.inacioalves.beer.api.exception.BeerStockHistoryNotFoundException;
+import com.inacioalves.beer.api.repository.StockMovementRepository;
+import com.inacioalves.beer.api.repository.StockSnapshotRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only ledger of stock movements, each recording the quantity it left. Committed changes
+ * are appended in JDBC batches off the request path; snapshots keep the quantity at a movement
+ * so the movements before it can be pruned.
+ */
+@Slf4j
+public class StockLedger implements DisposableBean {
+	
+	public static final int MAX_HISTORY_PAGE_SIZE = 100;
+	
+	private static final String APPEND_SQL = "insert into stock_movement (beer_id, delta, quantity, occurred_at) values (?, ?, ?, ?)";
+	
+	private final StockLedgerProperties properties;
+	private final JdbcTemplate jdbcTemplate;
+	private final StockMovementRepository stockMovementRepository;
+	private final StockSnapshotRepository stockSnapshotRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final BlockingQueue<StockMovement> pendingMovements;
+	private final ReentrantLock flushLock = new ReentrantLock();
+	private List<StockMovement> failedBatch;
+	private volatile boolean closed;
+	
+	public StockLedger(StockLedgerProperties properties, JdbcTemplate jdbcTemplate, StockMovementRepository stockMovementRepository,
+			StockSnapshotRepository stockSnapshotRepository, PlatformTransactionManager transactionManager) {
+		this.properties = properties;
+		this.jdbcTemplate = jdbcTemplate;
+		this.stockMovementRepository = stockMovementRepository;
+		this.stockSnapshotRepository = stockSnapshotRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.pendingMovements = new LinkedBlockingQueue<>(properties.getQueueCapacity());
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onStockChanged(StockChangedEvent event) {
+		StockMovement movement = new StockMovement(null, event.getBeerId(), event.getQuantity() - event.getPreviousQuantity(),
+				event.getQuantity(), Instant.now());
+		try {
+			while (!pendingMovements.offer(movement)) {
+				if (!drain() && pendingMovements.offer(movement, properties.getFlushIntervalMs(), TimeUnit.MILLISECONDS)) {
+					break;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.error("Interrupted while the ledger queue was full, stock movement of beer {} was not recorded", event.getBeerId());
+			return;
+		}
+		if (closed) {
+			drain();
+		}
+	}
+	
+	@Scheduled(fixedDelayString = "${beer.ledger.flush-interval-ms:200}")
+	public void flush() {
+		drain();
+	}
+	
+	@Override
+	public void destroy() {
+		closed = true;
+		if (!drain()) {
+			log.error("Shutting down with {} stock movements that could not be appended",
+					pendingMovements.size() + (failedBatch == null ? 0 : failedBatch.size()));
+		}
+	}
+	
+	@Scheduled(fixedDelayString = "${beer.ledger.snapshot-interval-ms:3600000}",
+			initialDelayString = "${beer.ledger.snapshot-interval-ms:3600000}")
+	public void takeSnapshots() {
+		flushLock.lock();
+		try {
+			if (!drain()) {
+				return;
+			}
+			transactionTemplate.executeWithoutResult(status -> {
+				for (Object[] latestMovement : stockMovementRepository.findLatestMovementIdsAfter(stockSnapshotRepository.findLastMovementId())) {
+					snapshot((Long) latestMovement[1]);
+				}
+			});
+		} finally {
+			flushLock.unlock();
+		}
+	}
+	
+	public Slice<StockMovementDTO> history(Long beerId, Long beforeId, int size) {
+		Pageable firstPage = PageRequest.of(0, Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE)));
+		Slice<StockMovement> movements = beforeId == null
+				? stockMovementRepository.findByBeerIdOrderByIdDesc(beerId, firstPage)
+				: stockMovementRepository.findByBeerIdAndIdLessThanOrderByIdDesc(beerId, beforeId, firstPage);
+		return movements.map(this::toDTO);
+	}
+	
+	public int quantityAt(Long beerId, Instant at) throws BeerStockHistoryNotFoundException {
+		Optional<StockMovement> latestMovement = stockMovementRepository.findFirstByBeerIdAndOccurredAtLessThanEqualOrderByIdDesc(beerId, at);
+		if (latestMovement.isPresent()) {
+			return latestMovement.get().getQuantity();
+		}
+		return stockSnapshotRepository.findFirstByBeerIdAndTakenAtLessThanEqualOrderByMovementIdDesc(beerId, at)
+				.map(StockSnapshot::getQuantity)
+				.orElseThrow(() -> new BeerStockHistoryNotFoundException(beerId, at));
+	}
+	
+	/**
+	 * Appends everything queued, retrying a previously failed batch first so movements keep
+	 * their order. Returns whether the queue could be drained.
+	 */
+	private boolean drain() {
+		flushLock.lock();
+		try {
+			if (failedBatch != null) {
+				if (!append(failedBatch)) {
+					return false;
+				}
+				failedBatch = null;
+			}
+			List<StockMovement> batch = new ArrayList<>();
+			while (pendingMovements.drainTo(batch, properties.getBatchSize()) > 0) {
+				if (!append(batch)) {
+					failedBatch = batch;
+					return false;
+				}
+				batch = new ArrayList<>();
+			}
+			return true;
+		} finally {
+			flushLock.unlock();
+		}
+	}
+	
+	private boolean append(List<StockMovement> batch) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(APPEND_SQL, new BatchPreparedStatementSetter() {
+				
+				@Override
+				public void setValues(PreparedStatement statement, int index) throws SQLException {
+					StockMovement movement = batch.get(index);
+					statement.setLong(1, movement.getBeerId());
+					statement.setInt(2, movement.getDelta());
+					statement.setInt(3, movement.getQuantity());
+					statement.setTimestamp(4, Timestamp.from(movement.getOccurredAt()));
+				}
+				
+				@Override
+				public int getBatchSize() {
+					return batch.size();
+				}
+			}));
+			return true;
+		} catch (RuntimeException e) {
+			log.error("Could not append {} stock movements of beers {}, retrying on the next flush", batch.size(),
+					batch.stream().map(StockMovement::getBeerId).distinct().collect(Collectors.toList()), e);
+			return false;
+		}
+	}
+	
+	private void snapshot(Long movementId) {
+		StockMovement movement = stockMovementRepository.getOne(movementId);
+		stockSnapshotRepository.save(new StockSnapshot(null, movement.getBeerId(), movement.getQuantity(), movementId,
+				movement.getOccurredAt()));
+	}
+	
+	private StockMovementDTO toDTO(StockMovement movement) {
+		return StockMovementDTO.builder()
+				.id(movement.getId())
+				.beerId(movement.getBeerId())
+				.delta(movement.getDelta())
+				.quantity(movement.getQuantity())
+				.occurredAt(movement.getOccurredAt())
+				.build();
+	}
+
+}
@@ -0,0 +1,19 @@
+package com.inacioalves.beer.api.ledger;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "beer.ledger")
+public class StockLedgerProperties {
+	
+	private int queueCapacity = 10_000;
+	
+	private int batchSize = 500;
+	
+	private long flushIntervalMs = 200;
+	
+	private long snapshotIntervalMs = 3_600_000;
+
+}
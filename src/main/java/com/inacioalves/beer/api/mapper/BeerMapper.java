@@ -1,6 +1,7 @@
 package com.inacioalves.beer.api.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 import com.inacioalves.beer.api.dto.BeerDTO;
@@ -11,6 +12,9 @@ public interface BeerMapper {
 	
 	BeerMapper INSTACE =Mappers.getMapper(BeerMapper.class);
 	
+	@Mapping(target = "searchName", ignore = true)
+	@Mapping(target = "searchBrand", ignore = true)
+	@Mapping(target = "version", ignore = true)
 	Beer toModel(BeerDTO beerDTO);
 	
 	BeerDTO toDTO(Beer beer);
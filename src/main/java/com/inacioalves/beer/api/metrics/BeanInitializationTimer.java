@@ -0,0 +1,61 @@
+package com.inacioalves.beer.api.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Times every bean from instantiation to the end of its initialization, dependencies included,
+ * and logs the slowest ones once the application is ready.
+ */
+@Slf4j
+public class BeanInitializationTimer implements InstantiationAwareBeanPostProcessor, ApplicationListener<ApplicationReadyEvent> {
+	
+	private final int topBeans;
+	private final Map<String, Long> startedAt = new ConcurrentHashMap<>();
+	private final Map<String, Long> initializationNanos = new ConcurrentHashMap<>();
+	
+	public BeanInitializationTimer(int topBeans) {
+		this.topBeans = topBeans;
+	}
+	
+	@Override
+	public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+		startedAt.putIfAbsent(beanName, System.nanoTime());
+		return null;
+	}
+	
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		Long beanStartedAt = startedAt.remove(beanName);
+		if (beanStartedAt != null) {
+			initializationNanos.put(beanName, System.nanoTime() - beanStartedAt);
+		}
+		return bean;
+	}
+	
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		log.info("Ready after {} ms of JVM uptime, slowest beans in ms: {}",
+				ManagementFactory.getRuntimeMXBean().getUptime(), slowestBeans());
+	}
+	
+	public Map<String, Long> slowestBeans() {
+		Map<String, Long> slowest = new LinkedHashMap<>();
+		initializationNanos.entrySet().stream()
+				.sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+				.limit(topBeans)
+				.forEach(entry -> slowest.put(entry.getKey(), TimeUnit.NANOSECONDS.toMillis(entry.getValue())));
+		return slowest;
+	}
+
+}
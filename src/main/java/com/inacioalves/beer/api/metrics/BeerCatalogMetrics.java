@@ -0,0 +1,32 @@
+package com.inacioalves.beer.api.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.inacioalves.beer.api.enums.BeerType;
+import com.inacioalves.beer.api.repository.BeerRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+
+@Component
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BeerCatalogMetrics implements MeterBinder {
+	
+	public static final String CATALOG_SIZE_GAUGE = "beer.catalog.size";
+	
+	private final BeerRepository beerRepository;
+	
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		for (BeerType type : BeerType.values()) {
+			Gauge.builder(CATALOG_SIZE_GAUGE, beerRepository, repository -> repository.countByType(type))
+					.tag("type", type.name())
+					.description("Number of beers registered in the catalog")
+					.register(registry);
+		}
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.inacioalves.beer.api.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.exception.BeerAlreadyRegisteredException;
+import com.inacioalves.beer.api.exception.BeerNotFoundException;
+import com.inacioalves.beer.api.exception.BeerRejectedException;
+import com.inacioalves.beer.api.exception.BeerStockExceededException;
+import com.inacioalves.beer.api.exception.BeerStockInsufficientException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+
+@Aspect
+@Component
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BeerServiceMetricsAspect {
+	
+	public static final String OPERATION_TIMER = "beer.service.operations";
+	public static final String REJECTION_COUNTER = "beer.service.rejections";
+	
+	private static final String UNKNOWN_TYPE = "unknown";
+	private static final String NOT_FOUND_TYPE = "none";
+	private static final String SUCCESS_OUTCOME = "success";
+	
+	private final MeterRegistry meterRegistry;
+	
+	@Around("execution(public * com.inacioalves.beer.api.service.BeerService.*(..))")
+	public Object timeOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+		String operation = joinPoint.getSignature().getName();
+		String type = typeOf(joinPoint.getArgs());
+		String outcome = SUCCESS_OUTCOME;
+		Timer.Sample sample = Timer.start(meterRegistry);
+		try {
+			Object result = joinPoint.proceed();
+			if (result instanceof BeerDTO) {
+				type = typeOf(result);
+			}
+			return result;
+		} catch (Throwable e) {
+			outcome = e.getClass().getSimpleName();
+			type = typeOf(e, type);
+			if (isRejection(e)) {
+				meterRegistry.counter(REJECTION_COUNTER, "exception", outcome, "operation", operation, "type", type)
+						.increment();
+			}
+			throw e;
+		} finally {
+			sample.stop(Timer.builder(OPERATION_TIMER)
+					.tag("operation", operation)
+					.tag("type", type)
+					.tag("outcome", outcome)
+					.publishPercentileHistogram()
+					.register(meterRegistry));
+		}
+	}
+	
+	private String typeOf(Object... candidates) {
+		for (Object candidate : candidates) {
+			if (candidate instanceof BeerDTO && ((BeerDTO) candidate).getType() != null) {
+				return ((BeerDTO) candidate).getType().name();
+			}
+		}
+		return UNKNOWN_TYPE;
+	}
+	
+	private String typeOf(Throwable e, String argumentType) {
+		if (e instanceof BeerNotFoundException) {
+			return NOT_FOUND_TYPE;
+		}
+		if (e instanceof BeerRejectedException && ((BeerRejectedException) e).getBeerType() != null) {
+			return ((BeerRejectedException) e).getBeerType().name();
+		}
+		return argumentType;
+	}
+	
+	private boolean isRejection(Throwable e) {
+		return e instanceof BeerNotFoundException
+				|| e instanceof BeerAlreadyRegisteredException
+				|| e instanceof BeerStockExceededException
+				|| e instanceof BeerStockInsufficientException;
+	}
+
+}
@@ -0,0 +1,33 @@
+package com.inacioalves.beer.api.ratelimit;
+
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Identifies the client behind a request by an issued API key, or else its address.
+ */
+public final class ClientKeys {
+	
+	private ClientKeys() {
+	}
+	
+	public static String resolve(HttpServletRequest request, String apiKeyHeader) {
+		String apiKey = request.getHeader(apiKeyHeader);
+		if (StringUtils.hasText(apiKey)) {
+			return "key:" + apiKey;
+		}
+		return "ip:" + request.getRemoteAddr();
+	}
+	
+	public static String resolve(HttpServletRequest request, String apiKeyHeader, Set<String> issuedApiKeys) {
+		String apiKey = request.getHeader(apiKeyHeader);
+		if (apiKey != null && issuedApiKeys.contains(apiKey)) {
+			return "key:" + apiKey;
+		}
+		return "ip:" + request.getRemoteAddr();
+	}
+
+}
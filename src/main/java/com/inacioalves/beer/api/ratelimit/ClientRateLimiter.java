@@ -0,0 +1,57 @@
+package com.inacioalves.beer.api.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inacioalves.beer.api.ratelimit.RateLimitProperties.Budget;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Separate read and write token buckets per client. Buckets of clients that went quiet
+ * are dropped after {@code idleClientExpiry}, which also resets their budget.
+ */
+public class ClientRateLimiter {
+	
+	public static final String REJECTED_COUNTER = "beer.ratelimit.rejected";
+	
+	private final Budget readBudget;
+	private final Budget writeBudget;
+	private final Cache<String, TokenBucket> readBuckets;
+	private final Cache<String, TokenBucket> writeBuckets;
+	private final Counter readRejections;
+	private final Counter writeRejections;
+	
+	public ClientRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+		this.readBudget = properties.getRead();
+		this.writeBudget = properties.getWrite();
+		this.readBuckets = buckets(properties);
+		this.writeBuckets = buckets(properties);
+		this.readRejections = meterRegistry.counter(REJECTED_COUNTER, "budget", "read");
+		this.writeRejections = meterRegistry.counter(REJECTED_COUNTER, "budget", "write");
+	}
+	
+	/**
+	 * Returns 0 when the request fits the client's budget, otherwise the nanoseconds
+	 * until the next token is available.
+	 */
+	public long tryAcquire(String clientKey, boolean write) {
+		Budget budget = write ? writeBudget : readBudget;
+		long now = System.nanoTime();
+		TokenBucket bucket = (write ? writeBuckets : readBuckets)
+				.get(clientKey, key -> new TokenBucket(budget.getCapacity(), budget.getTokensPerSecond(), now));
+		long waitNanos = bucket.tryAcquire(now);
+		if (waitNanos > 0) {
+			(write ? writeRejections : readRejections).increment();
+		}
+		return waitNanos;
+	}
+	
+	private static Cache<String, TokenBucket> buckets(RateLimitProperties properties) {
+		return Caffeine.newBuilder()
+				.expireAfterAccess(properties.getIdleClientExpiry())
+				.maximumSize(properties.getMaxClients())
+				.build();
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.inacioalves.beer.api.ratelimit;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Turns requests away while too many threads are already queued for a primary database
+ * connection, so a saturated pool fails fast.
+ */
+public class ConnectionPoolLoadShedder {
+	
+	public static final String SHED_COUNTER = "beer.loadshed.rejected";
+	
+	private final HikariDataSource hikariDataSource;
+	private final int maxPendingConnections;
+	private final Counter shedRequests;
+	
+	public ConnectionPoolLoadShedder(DataSource dataSource, RateLimitProperties properties, MeterRegistry meterRegistry) {
+		this.hikariDataSource = hikariDataSource(dataSource);
+		this.maxPendingConnections = properties.getMaxPendingConnections();
+		this.shedRequests = meterRegistry.counter(SHED_COUNTER);
+	}
+	
+	public boolean shouldShed() {
+		if (maxPendingConnections <= 0 || pendingConnections() < maxPendingConnections) {
+			return false;
+		}
+		shedRequests.increment();
+		return true;
+	}
+	
+	private static HikariDataSource hikariDataSource(DataSource dataSource) {
+		try {
+			return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+		} catch (SQLException e) {
+			return null;
+		}
+	}
+	
+	private int pendingConnections() {
+		HikariPoolMXBean pool = hikariDataSource == null ? null : hikariDataSource.getHikariPoolMXBean();
+		return pool == null ? 0 : pool.getThreadsAwaitingConnection();
+	}
+
+}
@@ -0,0 +1,66 @@
+package com.inacioalves.beer.api.ratelimit;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Answers 503 while the connection pool is saturated and 429 once a client has spent its read
+ * or write budget.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+	
+	private static final long SHED_RETRY_AFTER_SECONDS = 1;
+	
+	private final ClientRateLimiter rateLimiter;
+	private final ConnectionPoolLoadShedder loadShedder;
+	private final String apiKeyHeader;
+	private final Set<String> apiKeys;
+	
+	public RateLimitInterceptor(ClientRateLimiter rateLimiter, ConnectionPoolLoadShedder loadShedder, RateLimitProperties properties) {
+		this.rateLimiter = rateLimiter;
+		this.loadShedder = loadShedder;
+		this.apiKeyHeader = properties.getApiKeyHeader();
+		this.apiKeys = properties.getApiKeys();
+	}
+	
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+		if (request.getDispatcherType() == DispatcherType.ASYNC) {
+			return true;
+		}
+		if (loadShedder.shouldShed()) {
+			return reject(response, HttpStatus.SERVICE_UNAVAILABLE, SHED_RETRY_AFTER_SECONDS);
+		}
+		long waitNanos = rateLimiter.tryAcquire(ClientKeys.resolve(request, apiKeyHeader, apiKeys), isWrite(request));
+		if (waitNanos > 0) {
+			return reject(response, HttpStatus.TOO_MANY_REQUESTS, divideRoundingUp(waitNanos, TimeUnit.SECONDS.toNanos(1)));
+		}
+		return true;
+	}
+	
+	private boolean isWrite(HttpServletRequest request) {
+		HttpMethod method = HttpMethod.resolve(request.getMethod());
+		return method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS;
+	}
+	
+	private boolean reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) throws IOException {
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+		response.sendError(status.value(), status.getReasonPhrase());
+		return false;
+	}
+	
+	private static long divideRoundingUp(long dividend, long divisor) {
+		return (dividend + divisor - 1) / divisor;
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.inacioalves.beer.api.ratelimit;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@ConfigurationProperties(prefix = "beer.rate-limit")
+public class RateLimitProperties {
+	
+	private boolean enabled = true;
+	
+	private String apiKeyHeader = "X-API-Key";
+	
+	private Set<String> apiKeys = new HashSet<>();
+	
+	private Budget read = new Budget(200, 100);
+	
+	private Budget write = new Budget(50, 20);
+	
+	private Duration idleClientExpiry = Duration.ofMinutes(10);
+	
+	private long maxClients = 100_000;
+	
+	private int maxPendingConnections = 10;
+	
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Budget {
+		
+		private int capacity;
+		
+		private double tokensPerSecond;
+		
+	}
+
+}
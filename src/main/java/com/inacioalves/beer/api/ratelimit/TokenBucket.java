@@ -0,0 +1,40 @@
+package com.inacioalves.beer.api.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single theoretical arrival time (the generic cell rate algorithm),
+ * so taking a token is one compare-and-set and never blocks.
+ */
+class TokenBucket {
+	
+	private final long nanosPerToken;
+	private final long burstTolerance;
+	private final AtomicLong theoreticalArrival;
+	
+	TokenBucket(int capacity, double tokensPerSecond, long nowNanos) {
+		this.nanosPerToken = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / tokensPerSecond));
+		this.burstTolerance = nanosPerToken * (Math.max(1, capacity) - 1);
+		this.theoreticalArrival = new AtomicLong(nowNanos);
+	}
+	
+	/**
+	 * Takes one token, returning 0 when it was available or how many nanoseconds the
+	 * caller has to wait for the next one.
+	 */
+	long tryAcquire(long nowNanos) {
+		while (true) {
+			long arrival = theoreticalArrival.get();
+			long next = Math.max(arrival, nowNanos);
+			long waitNanos = next - nowNanos - burstTolerance;
+			if (waitNanos > 0) {
+				return waitNanos;
+			}
+			if (theoreticalArrival.compareAndSet(arrival, next + nanosPerToken)) {
+				return 0;
+			}
+		}
+	}
+
+}
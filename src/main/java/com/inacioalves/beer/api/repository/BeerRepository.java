@@ -1,13 +1,58 @@
 package com.inacioalves.beer.api.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.inacioalves.beer.api.entity.Beer;
+import com.inacioalves.beer.api.enums.BeerType;
 
-public interface BeerRepository extends JpaRepository<Beer, Long>{
+public interface BeerRepository extends JpaRepository<Beer, Long>, BeerRepositoryCustom{
 	
 
 	Optional<Beer> findByName(String name);
+	
+	List<Beer> findByNameIn(Collection<String> names);
+	
+	@Query("select b.name from Beer b where b.name in :names")
+	List<String> findNamesIn(@Param("names") Collection<String> names);
+	
+	long countByType(BeerType type);
+	
+	Slice<Beer> findAllBy(Pageable pageable);
+	
+	Slice<Beer> findByIdGreaterThan(Long id, Pageable pageable);
+	
+	List<Beer> findBySearchNameStartingWithOrderBySearchName(String prefix, Pageable pageable);
+	
+	List<Beer> findBySearchBrandStartingWithOrderBySearchBrandAscSearchNameAsc(String prefix, Pageable pageable);
+	
+	@QueryHints({
+		@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+		@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+	})
+	@Query("select b from Beer b order by b.id")
+	Stream<Beer> streamAllBy();
+	
+	// Every create, delete and update changes the count, the highest id or the sum of the row versions.
+	@Query("select concat(str(count(b)), '-', str(coalesce(max(b.id), 0)), '-', str(coalesce(sum(b.version), 0))) from Beer b")
+	String findCatalogState();
+	
+	@Query("select b.version from Beer b where b.id = :id")
+	Optional<Long> findVersionById(@Param("id") Long id);
+	
+	@Modifying(clearAutomatically = true)
+	@Query("update Beer b set b.quantity = b.quantity + :quantity, b.version = b.version + 1 where b.id = :id and b.quantity + :quantity <= b.max")
+	int incrementQuantity(@Param("id") Long id, @Param("quantity") int quantity);
 }
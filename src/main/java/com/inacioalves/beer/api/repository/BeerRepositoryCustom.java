@@ -0,0 +1,21 @@
+package com.inacioalves.beer.api.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.inacioalves.beer.api.dto.StockAdjustmentDTO;
+import com.inacioalves.beer.api.entity.Beer;
+
+public interface BeerRepositoryCustom {
+	
+	int[] adjustQuantities(List<StockAdjustmentDTO> adjustments);
+	
+	Slice<Beer> findSlice(Specification<Beer> specification, Pageable pageable);
+	
+	Slice<Map<String, Object>> findFieldSlice(Specification<Beer> specification, Pageable pageable, List<String> fields);
+
+}
@@ -0,0 +1,102 @@
+package com.inacioalves.beer.api.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.inacioalves.beer.api.dto.StockAdjustmentDTO;
+import com.inacioalves.beer.api.entity.Beer;
+
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BeerRepositoryCustomImpl implements BeerRepositoryCustom {
+	
+	private static final String ADJUST_QUANTITY_SQL =
+			"update beer set quantity = quantity + ?, version = version + 1 where id = ? and quantity + ? between 0 and max";
+	
+	private final JdbcTemplate jdbcTemplate;
+	private final EntityManager entityManager;
+	
+	@Override
+	public int[] adjustQuantities(List<StockAdjustmentDTO> adjustments) {
+		entityManager.flush();
+		int[] adjustedRows = jdbcTemplate.batchUpdate(ADJUST_QUANTITY_SQL, new BatchPreparedStatementSetter() {
+			
+			@Override
+			public void setValues(PreparedStatement statement, int index) throws SQLException {
+				StockAdjustmentDTO adjustment = adjustments.get(index);
+				statement.setInt(1, adjustment.getQuantity());
+				statement.setLong(2, adjustment.getId());
+				statement.setInt(3, adjustment.getQuantity());
+			}
+			
+			@Override
+			public int getBatchSize() {
+				return adjustments.size();
+			}
+		});
+		entityManager.clear();
+		return adjustedRows;
+	}
+	
+	@Override
+	public Slice<Beer> findSlice(Specification<Beer> specification, Pageable pageable) {
+		CriteriaQuery<Beer> query = entityManager.getCriteriaBuilder().createQuery(Beer.class);
+		Root<Beer> root = query.from(Beer.class);
+		return slice(query, root, specification, pageable);
+	}
+	
+	@Override
+	public Slice<Map<String, Object>> findFieldSlice(Specification<Beer> specification, Pageable pageable, List<String> fields) {
+		CriteriaQuery<Tuple> query = entityManager.getCriteriaBuilder().createTupleQuery();
+		Root<Beer> root = query.from(Beer.class);
+		query.multiselect(fields.stream()
+				.map(field -> root.get(field).alias(field))
+				.collect(Collectors.toList()));
+		return slice(query, root, specification, pageable)
+				.map(tuple -> {
+					Map<String, Object> values = new LinkedHashMap<>();
+					for (String field : fields) {
+						values.put(field, tuple.get(field));
+					}
+					return values;
+				});
+	}
+	
+	private <T> Slice<T> slice(CriteriaQuery<T> query, Root<Beer> root, Specification<Beer> specification, Pageable pageable) {
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		Predicate predicate = specification.toPredicate(root, query, builder);
+		if (predicate != null) {
+			query.where(predicate);
+		}
+		query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+		
+		List<T> results = entityManager.createQuery(query)
+				.setFirstResult((int) pageable.getOffset())
+				.setMaxResults(pageable.getPageSize() + 1)
+				.getResultList();
+		boolean hasNext = results.size() > pageable.getPageSize();
+		return new SliceImpl<>(hasNext ? results.subList(0, pageable.getPageSize()) : results, pageable, hasNext);
+	}
+
+}
@@ -0,0 +1,62 @@
+package com.inacioalves.beer.api.repository;
+
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.inacioalves.beer.api.dto.BeerFilterDTO;
+import com.inacioalves.beer.api.entity.Beer;
+import com.inacioalves.beer.api.enums.BeerType;
+
+public final class BeerSpecifications {
+	
+	private BeerSpecifications() {
+	}
+	
+	public static Specification<Beer> matching(BeerFilterDTO filter) {
+		return Specification.where(hasType(filter.getType()))
+				.and(hasBrand(filter.getBrand()))
+				.and(quantityAtLeast(filter.getMinQuantity()))
+				.and(quantityAtMost(filter.getMaxQuantity()))
+				.and(fillRatioAtLeast(filter.getMinFillRatio()))
+				.and(fillRatioAtMost(filter.getMaxFillRatio()));
+	}
+	
+	public static Specification<Beer> hasName(String name) {
+		return (root, query, builder) -> builder.equal(root.get("name"), name);
+	}
+	
+	public static Specification<Beer> idGreaterThan(Long id) {
+		return (root, query, builder) -> builder.greaterThan(root.get("id"), id);
+	}
+	
+	public static Specification<Beer> hasType(BeerType type) {
+		return type == null ? null : (root, query, builder) -> builder.equal(root.get("type"), type);
+	}
+	
+	public static Specification<Beer> hasBrand(String brand) {
+		return brand == null ? null : (root, query, builder) ->
+				builder.equal(root.get("searchBrand"), brand.trim().toLowerCase(Locale.ROOT));
+	}
+	
+	public static Specification<Beer> quantityAtLeast(Integer quantity) {
+		return quantity == null ? null : (root, query, builder) ->
+				builder.greaterThanOrEqualTo(root.get("quantity"), quantity);
+	}
+	
+	public static Specification<Beer> quantityAtMost(Integer quantity) {
+		return quantity == null ? null : (root, query, builder) ->
+				builder.lessThanOrEqualTo(root.get("quantity"), quantity);
+	}
+	
+	public static Specification<Beer> fillRatioAtLeast(Double ratio) {
+		return ratio == null ? null : (root, query, builder) ->
+				builder.ge(root.get("quantity"), builder.prod(root.<Integer>get("max"), ratio));
+	}
+	
+	public static Specification<Beer> fillRatioAtMost(Double ratio) {
+		return ratio == null ? null : (root, query, builder) ->
+				builder.le(root.get("quantity"), builder.prod(root.<Integer>get("max"), ratio));
+	}
+
+}
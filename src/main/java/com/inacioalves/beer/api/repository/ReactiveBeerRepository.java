@@ -0,0 +1,29 @@
+package com.inacioalves.beer.api.repository;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.inacioalves.beer.api.entity.Beer;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveBeerRepository extends R2dbcRepository<Beer, Long> {
+	
+	Mono<Beer> findByName(String name);
+	
+	@Query("select next value for beer_sequence")
+	Mono<Long> nextIdBlock();
+	
+	@Modifying
+	@Query("insert into beer (id, name, brand, max, quantity, type, search_name, search_brand, version) "
+			+ "values (:id, :name, :brand, :max, :quantity, :type, lower(:name), lower(:brand), 0)")
+	Mono<Integer> insert(@Param("id") Long id, @Param("name") String name, @Param("brand") String brand, @Param("max") int max,
+			@Param("quantity") int quantity, @Param("type") String type);
+	
+	@Modifying
+	@Query("update beer set quantity = quantity + :quantity, version = version + 1 where id = :id and quantity + :quantity <= max")
+	Mono<Integer> incrementQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+}
@@ -0,0 +1,26 @@
+package com.inacioalves.beer.api.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.inacioalves.beer.api.entity.StockMovement;
+
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+	
+	Slice<StockMovement> findByBeerIdOrderByIdDesc(Long beerId, Pageable pageable);
+	
+	Slice<StockMovement> findByBeerIdAndIdLessThanOrderByIdDesc(Long beerId, Long id, Pageable pageable);
+	
+	Optional<StockMovement> findFirstByBeerIdAndOccurredAtLessThanEqualOrderByIdDesc(Long beerId, Instant at);
+	
+	@Query("select m.beerId, max(m.id) from StockMovement m where m.id > :afterId group by m.beerId")
+	List<Object[]> findLatestMovementIdsAfter(@Param("afterId") Long afterId);
+
+}
@@ -0,0 +1,18 @@
+package com.inacioalves.beer.api.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.inacioalves.beer.api.entity.StockSnapshot;
+
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+	
+	Optional<StockSnapshot> findFirstByBeerIdAndTakenAtLessThanEqualOrderByMovementIdDesc(Long beerId, Instant at);
+	
+	@Query("select coalesce(max(s.movementId), 0) from StockSnapshot s")
+	Long findLastMovementId();
+
+}
@@ -0,0 +1,66 @@
+package com.inacioalves.beer.api.routing;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inacioalves.beer.api.event.BeerDeletedEvent;
+import com.inacioalves.beer.api.event.BeerSavedEvent;
+import com.inacioalves.beer.api.event.StockChangedEvent;
+import com.inacioalves.beer.api.ratelimit.ClientKeys;
+
+/**
+ * Remembers which request clients committed a write in the last sticky window, so their reads
+ * stay on the primary until the replica catches up.
+ */
+public class ReadYourWritesTracker {
+	
+	private final Cache<String, Boolean> recentWriters;
+	private final String clientKeyHeader;
+	private final boolean enabled;
+	
+	public ReadYourWritesTracker(ReplicaProperties properties) {
+		this.enabled = properties.getStickyWindowMs() > 0;
+		this.clientKeyHeader = properties.getClientKeyHeader();
+		this.recentWriters = Caffeine.newBuilder()
+				.expireAfterWrite(Math.max(1, properties.getStickyWindowMs()), TimeUnit.MILLISECONDS)
+				.maximumSize(properties.getMaxStickyClients())
+				.build();
+	}
+	
+	public String currentClient() {
+		if (!enabled) {
+			return null;
+		}
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (!(attributes instanceof ServletRequestAttributes)) {
+			return null;
+		}
+		HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+		return ClientKeys.resolve(request, clientKeyHeader);
+	}
+	
+	@TransactionalEventListener(classes = { BeerSavedEvent.class, StockChangedEvent.class, BeerDeletedEvent.class },
+			fallbackExecution = true)
+	public void onBeerWritten() {
+		recordWrite(currentClient());
+	}
+	
+	public void recordWrite(String client) {
+		if (client != null) {
+			recentWriters.put(client, Boolean.TRUE);
+		}
+	}
+	
+	public boolean isSticky(String client) {
+		return client != null && recentWriters.getIfPresent(client) != null;
+	}
+
+}
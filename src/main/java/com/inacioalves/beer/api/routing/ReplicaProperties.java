@@ -0,0 +1,27 @@
+package com.inacioalves.beer.api.routing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "beer.replica")
+public class ReplicaProperties {
+	
+	private boolean enabled = false;
+	
+	private String url;
+	
+	private String username = "sa";
+	
+	private String password = "";
+	
+	private int maximumPoolSize = 10;
+	
+	private long stickyWindowMs = 5_000;
+	
+	private long maxStickyClients = 100_000;
+	
+	private String clientKeyHeader = "X-API-Key";
+
+}
@@ -0,0 +1,92 @@
+package com.inacioalves.beer.api.routing;
+
+import java.io.Closeable;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else, including reads of
+ * clients that just wrote, to the primary. Routes lazily, since read-only is set after the
+ * connection is requested.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+	
+	public static final String ROUTED_COUNTER = "beer.datasource.routed";
+	public static final String STICKY_COUNTER = "beer.datasource.sticky";
+	
+	private final HikariDataSource primaryDataSource;
+	private final HikariDataSource replicaDataSource;
+	private final ReadYourWritesTracker readYourWritesTracker;
+	private final Map<Route, Counter> routedConnections = new EnumMap<>(Route.class);
+	private final Counter stickyReads;
+	
+	public ReplicaRoutingDataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+			ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
+		this.primaryDataSource = primaryDataSource;
+		this.replicaDataSource = replicaDataSource;
+		this.readYourWritesTracker = readYourWritesTracker;
+		for (Route route : Route.values()) {
+			routedConnections.put(route, meterRegistry.counter(ROUTED_COUNTER, "pool", route.tag()));
+		}
+		this.stickyReads = meterRegistry.counter(STICKY_COUNTER);
+		
+		AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+			@Override
+			protected Object determineCurrentLookupKey() {
+				return currentRoute();
+			}
+		};
+		router.setTargetDataSources(Map.of(Route.PRIMARY, primaryDataSource, Route.REPLICA, replicaDataSource));
+		router.setDefaultTargetDataSource(primaryDataSource);
+		router.afterPropertiesSet();
+		setTargetDataSource(router);
+		afterPropertiesSet();
+	}
+	
+	@Override
+	public void close() {
+		replicaDataSource.close();
+		primaryDataSource.close();
+	}
+	
+	private Route currentRoute() {
+		if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+			return Route.PRIMARY;
+		}
+		Route route = route();
+		routedConnections.get(route).increment();
+		return route;
+	}
+	
+	private Route route() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return Route.PRIMARY;
+		}
+		if (readYourWritesTracker.isSticky(readYourWritesTracker.currentClient())) {
+			stickyReads.increment();
+			return Route.PRIMARY;
+		}
+		return Route.REPLICA;
+	}
+	
+	public enum Route {
+		
+		PRIMARY, REPLICA;
+		
+		private String tag() {
+			return name().toLowerCase(Locale.ROOT);
+		}
+		
+	}
+
+}
@@ -1,19 +1,60 @@
 package com.inacioalves.beer.api.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.inacioalves.beer.api.config.CacheConfig;
+import com.inacioalves.beer.api.dto.BeerBatchResultDTO;
 import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.dto.BeerFilterDTO;
+import com.inacioalves.beer.api.dto.StockAdjustmentDTO;
+import com.inacioalves.beer.api.dto.StockAdjustmentResultDTO;
 import com.inacioalves.beer.api.entity.Beer;
+import com.inacioalves.beer.api.enums.BeerBatchStatus;
+import com.inacioalves.beer.api.enums.StockAdjustmentStatus;
+import com.inacioalves.beer.api.event.BeerDeletedEvent;
+import com.inacioalves.beer.api.event.BeerSavedEvent;
+import com.inacioalves.beer.api.event.StockChangedEvent;
 import com.inacioalves.beer.api.exception.BeerAlreadyRegisteredException;
+import com.inacioalves.beer.api.exception.BeerFieldNotSupportedException;
 import com.inacioalves.beer.api.exception.BeerNotFoundException;
 import com.inacioalves.beer.api.exception.BeerStockExceededException;
+import com.inacioalves.beer.api.exception.BeerStockInsufficientException;
 import com.inacioalves.beer.api.mapper.BeerMapper;
 import com.inacioalves.beer.api.repository.BeerRepository;
+import com.inacioalves.beer.api.repository.BeerSpecifications;
+import com.inacioalves.beer.api.stock.StockWriteBehindBuffer;
 
 import lombok.AllArgsConstructor;
 
@@ -21,16 +62,72 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class BeerService {
 	
+	public static final int MAX_PAGE_SIZE = 100;
+	public static final int MAX_SEARCH_RESULTS = 50;
+	public static final int PRELOAD_BATCH_SIZE = 500;
+	public static final List<String> PROJECTABLE_FIELDS = List.of("id", "name", "brand", "max", "quantity", "type");
+	
 	private final BeerRepository beerRepository;
+	private final EntityManager entityManager;
+	private final CacheManager cacheManager;
+	private final ApplicationEventPublisher eventPublisher;
+	private final StockWriteBehindBuffer stockWriteBehindBuffer;
+	private final TransactionTemplate transactionTemplate;
 	private final BeerMapper beerMapper =BeerMapper.INSTACE;
 	
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.BEERS_BY_NAME_CACHE, key = "#result.name")
 	public BeerDTO createBeer(BeerDTO beerDTO) throws BeerAlreadyRegisteredException {
 		verifyIfIsAlreadyRegistered(beerDTO.getName());
 		Beer beer = beerMapper.toModel(beerDTO);
 		Beer savedBeer= beerRepository.save(beer);
+		publishSaved(savedBeer);
 		return beerMapper.toDTO(savedBeer);
 	}
 	
+	@Transactional
+	public List<BeerBatchResultDTO> createBeers(List<BeerDTO> beersDTO) {
+		Set<String> requestedNames = new HashSet<>();
+		for (BeerDTO beerDTO : beersDTO) {
+			requestedNames.add(beerDTO.getName());
+		}
+		Set<String> registeredNames = new HashSet<>(beerRepository.findNamesIn(requestedNames));
+		
+		List<BeerBatchResultDTO> results = new ArrayList<>(beersDTO.size());
+		List<BeerBatchResultDTO> createdResults = new ArrayList<>();
+		List<Beer> beersToSave = new ArrayList<>();
+		Set<String> acceptedNames = new HashSet<>();
+		for (int index = 0; index < beersDTO.size(); index++) {
+			BeerDTO beerDTO = beersDTO.get(index);
+			BeerBatchResultDTO result = BeerBatchResultDTO.builder()
+					.index(index)
+					.name(beerDTO.getName())
+					.build();
+			if (registeredNames.contains(beerDTO.getName())) {
+				result.setStatus(BeerBatchStatus.ALREADY_REGISTERED);
+			} else if (!acceptedNames.add(beerDTO.getName())) {
+				result.setStatus(BeerBatchStatus.DUPLICATED_IN_REQUEST);
+			} else {
+				Beer beer = beerMapper.toModel(beerDTO);
+				beer.setId(null);
+				beersToSave.add(beer);
+				createdResults.add(result);
+			}
+			results.add(result);
+		}
+		
+		List<Beer> savedBeers = beerRepository.saveAll(beersToSave);
+		for (int i = 0; i < savedBeers.size(); i++) {
+			publishSaved(savedBeers.get(i));
+			BeerBatchResultDTO result = createdResults.get(i);
+			result.setStatus(BeerBatchStatus.CREATED);
+			result.setBeer(beerMapper.toDTO(savedBeers.get(i)));
+		}
+		return results;
+	}
+	
+	@Transactional(readOnly = true)
+	@Cacheable(cacheNames = CacheConfig.BEERS_BY_NAME_CACHE, key = "#name")
 	public BeerDTO findByName(String name) throws BeerNotFoundException {
 		Beer foundBeer = beerRepository.findByName(name)
 				.orElseThrow(()-> new BeerNotFoundException(name));
@@ -38,36 +135,275 @@ public class BeerService {
 		
 	}
 	
-	public List<BeerDTO>listAll(){
-		return beerRepository.findAll()
+	@Transactional(readOnly = true)
+	public int preloadByName(Collection<String> names) {
+		Cache beersByName = cacheManager.getCache(CacheConfig.BEERS_BY_NAME_CACHE);
+		if (beersByName == null) {
+			return 0;
+		}
+		List<String> namesToLoad = new ArrayList<>(names);
+		int preloaded = 0;
+		for (int from = 0; from < namesToLoad.size(); from += PRELOAD_BATCH_SIZE) {
+			List<String> batch = namesToLoad.subList(from, Math.min(from + PRELOAD_BATCH_SIZE, namesToLoad.size()));
+			for (Beer beer : beerRepository.findByNameIn(batch)) {
+				beersByName.put(beer.getName(), beerMapper.toDTO(beer));
+				preloaded++;
+			}
+		}
+		return preloaded;
+	}
+	
+	@Transactional(readOnly = true)
+	public Slice<BeerDTO> listAll(Pageable pageable){
+		return beerRepository.findAllBy(capPageSize(pageable))
+				.map(beerMapper::toDTO);
+	}
+	
+	@Transactional(readOnly = true)
+	public Slice<BeerDTO> listAfter(Long afterId, int size){
+		Pageable firstPageById = PageRequest.of(0, Math.min(size, MAX_PAGE_SIZE), Sort.by("id"));
+		return beerRepository.findByIdGreaterThan(afterId, firstPageById)
+				.map(beerMapper::toDTO);
+	}
+	
+	
+	@Transactional(readOnly = true)
+	public Slice<BeerDTO> listMatching(BeerFilterDTO filter, Long afterId, Pageable pageable){
+		Specification<Beer> specification = filterSpecification(filter, afterId);
+		return beerRepository.findSlice(specification, filterPageable(afterId, pageable))
+				.map(beerMapper::toDTO);
+	}
+	
+	@Transactional(readOnly = true)
+	public Slice<Map<String, Object>> listFields(List<String> fields, BeerFilterDTO filter, Long afterId, Pageable pageable)
+			throws BeerFieldNotSupportedException {
+		List<String> projectedFields = verifyIfFieldsAreSupported(fields);
+		Specification<Beer> specification = filterSpecification(filter, afterId);
+		return beerRepository.findFieldSlice(specification, filterPageable(afterId, pageable), projectedFields);
+	}
+	
+	@Transactional(readOnly = true)
+	public Map<String, Object> findFieldsByName(String name, List<String> fields) throws BeerNotFoundException, BeerFieldNotSupportedException {
+		List<String> projectedFields = verifyIfFieldsAreSupported(fields);
+		return beerRepository.findFieldSlice(BeerSpecifications.hasName(name), PageRequest.of(0, 1), projectedFields)
 				.stream()
+				.findFirst()
+				.orElseThrow(() -> new BeerNotFoundException(name));
+	}
+	
+	@Transactional(readOnly = true)
+	public List<BeerDTO> search(String query, int limit) {
+		String prefix = query.trim().toLowerCase(Locale.ROOT);
+		if (prefix.isEmpty()) {
+			return Collections.emptyList();
+		}
+		Pageable topResults = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+		Map<Long, Beer> matches = new LinkedHashMap<>();
+		for (Beer beer : beerRepository.findBySearchNameStartingWithOrderBySearchName(prefix, topResults)) {
+			matches.put(beer.getId(), beer);
+		}
+		if (matches.size() < topResults.getPageSize()) {
+			for (Beer beer : beerRepository.findBySearchBrandStartingWithOrderBySearchBrandAscSearchNameAsc(prefix, topResults)) {
+				matches.putIfAbsent(beer.getId(), beer);
+			}
+		}
+		return matches.values().stream()
+				.sorted(Comparator.comparingInt((Beer beer) -> searchRank(beer, prefix))
+						.thenComparing(Beer::getSearchName))
+				.limit(topResults.getPageSize())
 				.map(beerMapper::toDTO)
 				.collect(Collectors.toList());
 	}
 	
+	@Transactional(readOnly = true)
+	public void exportAll(Consumer<BeerDTO> beerConsumer) {
+		try (Stream<Beer> beers = beerRepository.streamAllBy()) {
+			beers.forEach(beer -> {
+				beerConsumer.accept(beerMapper.toDTO(beer));
+				entityManager.detach(beer);
+			});
+		}
+	}
+	
 	
+	@Transactional
 	 public void deleteById(Long id) throws BeerNotFoundException {
-	        verifyIfExists(id);
+	        stockWriteBehindBuffer.flushAndInvalidate(Collections.singleton(id));
+	        Beer beerToDelete = verifyIfExists(id);
 	        beerRepository.deleteById(id);
+	        eventPublisher.publishEvent(new BeerDeletedEvent(id, beerToDelete.getName()));
+	        evictFromCache(beerToDelete.getName());
 	    }
 	
+	// Not transactional itself: a buffered increment must not hold a connection while the buffer works.
 	public BeerDTO increment (Long id ,int quantityToIncrement) throws BeerStockExceededException, BeerNotFoundException {
-		Beer beerToIncrementStock = verifyIfExists(id);
-		int quantityAfterIncrement = quantityToIncrement + beerToIncrementStock.getQuantity();
-		if(quantityAfterIncrement <= beerToIncrementStock.getMax()) {
-			beerToIncrementStock.setQuantity(beerToIncrementStock.getQuantity() + quantityToIncrement);
-			Beer incrementedBeerStock = beerRepository.save(beerToIncrementStock);
-			return beerMapper.toDTO(incrementedBeerStock);
+		if (stockWriteBehindBuffer.isEnabled()) {
+			Optional<BeerDTO> bufferedBeerDTO = stockWriteBehindBuffer.increment(id, quantityToIncrement);
+			if (bufferedBeerDTO.isPresent()) {
+				putInCache(bufferedBeerDTO.get());
+				return bufferedBeerDTO.get();
+			}
 		}
-		throw new BeerStockExceededException(id, quantityToIncrement);
+		Beer incrementedBeerStock = transactionTemplate.execute(status -> {
+			if (beerRepository.incrementQuantity(id, quantityToIncrement) == 0) {
+				return null;
+			}
+			Beer beer = beerRepository.findById(id).get();
+			publishStockChanged(beer, quantityToIncrement);
+			evictFromCache(beer.getName());
+			return beer;
+		});
+		if (incrementedBeerStock == null) {
+			Beer beer = transactionTemplate.execute(status -> beerRepository.findById(id))
+					.orElseThrow(() -> new BeerNotFoundException(id));
+			throw new BeerStockExceededException(id, beer.getType(), quantityToIncrement);
+		}
+		return beerMapper.toDTO(incrementedBeerStock);
 	}
 	
 	
+	@Transactional(rollbackFor = {BeerNotFoundException.class, BeerStockExceededException.class, BeerStockInsufficientException.class})
+	public List<StockAdjustmentResultDTO> adjustStock(List<StockAdjustmentDTO> adjustments, boolean atomic)
+			throws BeerNotFoundException, BeerStockExceededException, BeerStockInsufficientException {
+		if (adjustments.isEmpty()) {
+			return Collections.emptyList();
+		}
+		Set<Long> ids = adjustments.stream()
+				.map(StockAdjustmentDTO::getId)
+				.collect(Collectors.toSet());
+		stockWriteBehindBuffer.flushAndInvalidate(ids);
+		int[] adjustedRows = beerRepository.adjustQuantities(adjustments);
+		Map<Long, Beer> adjustedBeers = beerRepository.findAllById(ids)
+				.stream()
+				.collect(Collectors.toMap(Beer::getId, beer -> beer));
+		
+		List<StockAdjustmentResultDTO> results = new ArrayList<>(adjustments.size());
+		Map<Long, Integer> appliedDeltas = new HashMap<>();
+		for (int index = 0; index < adjustments.size(); index++) {
+			StockAdjustmentDTO adjustment = adjustments.get(index);
+			Beer adjustedBeer = adjustedBeers.get(adjustment.getId());
+			StockAdjustmentStatus status = adjustmentStatus(adjustment, adjustedRows[index], adjustedBeer);
+			if (atomic) {
+				verifyIfAdjusted(adjustment, status, adjustedBeer);
+			}
+			if (status == StockAdjustmentStatus.APPLIED) {
+				evictFromCache(adjustedBeer.getName());
+				appliedDeltas.merge(adjustedBeer.getId(), adjustment.getQuantity(), Integer::sum);
+			}
+			results.add(StockAdjustmentResultDTO.builder()
+					.index(index)
+					.id(adjustment.getId())
+					.quantity(adjustment.getQuantity())
+					.status(status)
+					.beer(adjustedBeer == null ? null : beerMapper.toDTO(adjustedBeer))
+					.build());
+		}
+		appliedDeltas.forEach((id, delta) -> publishStockChanged(adjustedBeers.get(id), delta));
+		return results;
+	}
+	
+	
+	private StockAdjustmentStatus adjustmentStatus(StockAdjustmentDTO adjustment, int adjustedRows, Beer adjustedBeer) {
+		if (adjustedRows != 0) {
+			return StockAdjustmentStatus.APPLIED;
+		}
+		if (adjustedBeer == null) {
+			return StockAdjustmentStatus.NOT_FOUND;
+		}
+		return adjustment.getQuantity() > 0 ? StockAdjustmentStatus.STOCK_EXCEEDED : StockAdjustmentStatus.STOCK_INSUFFICIENT;
+	}
+	
+	private void verifyIfAdjusted(StockAdjustmentDTO adjustment, StockAdjustmentStatus status, Beer adjustedBeer)
+			throws BeerNotFoundException, BeerStockExceededException, BeerStockInsufficientException {
+		switch (status) {
+		case NOT_FOUND:
+			throw new BeerNotFoundException(adjustment.getId());
+		case STOCK_EXCEEDED:
+			throw new BeerStockExceededException(adjustment.getId(), adjustedBeer.getType(), adjustment.getQuantity());
+		case STOCK_INSUFFICIENT:
+			throw new BeerStockInsufficientException(adjustment.getId(), adjustedBeer.getType(), adjustment.getQuantity());
+		default:
+			break;
+		}
+	}
+	
+	private int searchRank(Beer beer, String prefix) {
+		if (beer.getSearchName().equals(prefix)) {
+			return 0;
+		}
+		return beer.getSearchName().startsWith(prefix) ? 1 : 2;
+	}
+	
+	private void publishStockChanged(Beer beer, int delta) {
+		eventPublisher.publishEvent(new StockChangedEvent(beer.getId(), beer.getName(), beer.getType(),
+				beer.getQuantity() - delta, beer.getQuantity(), beer.getMax(), beer.getVersion()));
+	}
+	
+	private void publishSaved(Beer beer) {
+		eventPublisher.publishEvent(new BeerSavedEvent(beer.getId(), beer.getName(), beer.getType(), beer.getQuantity(), beer.getMax(),
+				beer.getVersion()));
+	}
+	
+	private void putInCache(BeerDTO beerDTO) {
+		Cache beersByName = cacheManager.getCache(CacheConfig.BEERS_BY_NAME_CACHE);
+		if (beersByName != null) {
+			beersByName.put(beerDTO.getName(), beerDTO);
+		}
+	}
+	
+	private void evictFromCache(String name) {
+		Cache beersByName = cacheManager.getCache(CacheConfig.BEERS_BY_NAME_CACHE);
+		if (beersByName != null) {
+			beersByName.evict(name);
+		}
+	}
+	
 	private Beer verifyIfExists(Long id) throws BeerNotFoundException {
         return beerRepository.findById(id)
                 .orElseThrow(() -> new BeerNotFoundException(id));
     }
 	
+	private Specification<Beer> filterSpecification(BeerFilterDTO filter, Long afterId) {
+		Specification<Beer> specification = BeerSpecifications.matching(filter);
+		if (afterId != null) {
+			specification = specification.and(BeerSpecifications.idGreaterThan(afterId));
+		}
+		return specification;
+	}
+	
+	private Pageable filterPageable(Long afterId, Pageable pageable) {
+		Pageable cappedPageable = capPageSize(pageable);
+		if (afterId != null) {
+			return PageRequest.of(0, cappedPageable.getPageSize(), Sort.by("id"));
+		}
+		return cappedPageable;
+	}
+	
+	private List<String> verifyIfFieldsAreSupported(List<String> fields) throws BeerFieldNotSupportedException {
+		Set<String> projectedFields = new LinkedHashSet<>();
+		for (String field : fields) {
+			String trimmedField = field.trim();
+			if (trimmedField.isEmpty()) {
+				continue;
+			}
+			if (!PROJECTABLE_FIELDS.contains(trimmedField)) {
+				throw new BeerFieldNotSupportedException(trimmedField, PROJECTABLE_FIELDS);
+			}
+			projectedFields.add(trimmedField);
+		}
+		return projectedFields.isEmpty() ? PROJECTABLE_FIELDS : new ArrayList<>(projectedFields);
+	}
+	
+	private Pageable capPageSize(Pageable pageable) {
+		if (pageable.isUnpaged()) {
+			return PageRequest.of(0, MAX_PAGE_SIZE);
+		}
+		if (pageable.getPageSize() > MAX_PAGE_SIZE) {
+			return PageRequest.of(pageable.getPageNumber(), MAX_PAGE_SIZE, pageable.getSort());
+		}
+		return pageable;
+	}
+	
 	 private void verifyIfIsAlreadyRegistered(String name) throws BeerAlreadyRegisteredException {
 	        Optional<Beer> optSavedBeer = beerRepository.findByName(name);
 	        if (optSavedBeer.isPresent()) {
@@ -0,0 +1,35 @@
+package com.inacioalves.beer.api.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.inacioalves.beer.api.cache.WrittenBeerVersions;
+import com.inacioalves.beer.api.repository.BeerRepository;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Version of the whole beer catalog, derived from the stored rows so every instance serves
+ * the same ETag. The ETag is weak so the listing can still be gzip-compressed.
+ */
+@Component
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class CatalogVersion {
+
+	private final BeerRepository beerRepository;
+	private final WrittenBeerVersions writtenBeerVersions;
+
+	/**
+	 * Returns null while the database read, possibly a lagging replica, misses a write this
+	 * instance committed: an ETag for that catalog would revalidate stale listings.
+	 */
+	@Transactional(readOnly = true)
+	public String currentETag() {
+		if (!writtenBeerVersions.isCaughtUp(beerRepository::findVersionById)) {
+			return null;
+		}
+		return "W/\"catalog-" + beerRepository.findCatalogState() + "\"";
+	}
+
+}
@@ -0,0 +1,176 @@
+package com.inacioalves.beer.api.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.entity.Beer;
+import com.inacioalves.beer.api.exception.BeerAlreadyRegisteredException;
+import com.inacioalves.beer.api.exception.BeerNotFoundException;
+import com.inacioalves.beer.api.exception.BeerStockExceededException;
+import com.inacioalves.beer.api.mapper.BeerMapper;
+import com.inacioalves.beer.api.repository.ReactiveBeerRepository;
+
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ReactiveBeerService {
+	
+	public static final String TRANSACTION_MANAGER = "connectionFactoryTransactionManager";
+	
+	private static final Set<String> SORTABLE_COLUMNS = Set.of("id", "name", "brand", "max", "quantity", "type");
+	
+	private final ReactiveBeerRepository reactiveBeerRepository;
+	private final DatabaseClient databaseClient;
+	private final BeerMapper beerMapper =BeerMapper.INSTACE;
+	private final IdBlock idBlock = new IdBlock();
+	
+	@Transactional(transactionManager = TRANSACTION_MANAGER)
+	public Mono<BeerDTO> createBeer(BeerDTO beerDTO) {
+		Beer beer = beerMapper.toModel(beerDTO);
+		return reactiveBeerRepository.findByName(beer.getName())
+				.flatMap(savedBeer -> Mono.<Beer>error(new BeerAlreadyRegisteredException(beer.getName())))
+				.switchIfEmpty(Mono.defer(() -> nextId()
+						.flatMap(id -> reactiveBeerRepository
+								.insert(id, beer.getName(), beer.getBrand(), beer.getMax(), beer.getQuantity(), beer.getType().name()))
+						.then(reactiveBeerRepository.findByName(beer.getName()))))
+				.map(beerMapper::toDTO);
+	}
+	
+	public Mono<BeerDTO> findByName(String name) {
+		return reactiveBeerRepository.findByName(name)
+				.switchIfEmpty(Mono.defer(() -> Mono.error(new BeerNotFoundException(name))))
+				.map(beerMapper::toDTO);
+	}
+	
+	public Mono<Slice<BeerDTO>> listAll(Pageable pageable) {
+		Pageable cappedPageable = capPageSize(pageable);
+		return databaseClient.execute("select * from beer" + orderBy(cappedPageable.getSort()) + " limit :limit offset :offset")
+				.bind("limit", cappedPageable.getPageSize() + 1)
+				.bind("offset", cappedPageable.getOffset())
+				.as(Beer.class)
+				.fetch()
+				.all()
+				.collectList()
+				.map(beers -> toSlice(beers, cappedPageable));
+	}
+	
+	public Mono<Slice<BeerDTO>> listAfter(Long afterId, int size) {
+		Pageable firstPageById = PageRequest.of(0, Math.min(size, BeerService.MAX_PAGE_SIZE), Sort.by("id"));
+		return databaseClient.execute("select * from beer where id > :afterId order by id limit :limit")
+				.bind("afterId", afterId)
+				.bind("limit", firstPageById.getPageSize() + 1)
+				.as(Beer.class)
+				.fetch()
+				.all()
+				.collectList()
+				.map(beers -> toSlice(beers, firstPageById));
+	}
+	
+	public Flux<BeerDTO> exportAll() {
+		return databaseClient.execute("select * from beer order by id")
+				.as(Beer.class)
+				.fetch()
+				.all()
+				.map(beerMapper::toDTO);
+	}
+	
+	@Transactional(transactionManager = TRANSACTION_MANAGER)
+	public Mono<Void> deleteById(Long id) {
+		return verifyIfExists(id)
+				.flatMap(reactiveBeerRepository::delete);
+	}
+	
+	@Transactional(transactionManager = TRANSACTION_MANAGER)
+	public Mono<BeerDTO> increment(Long id, int quantityToIncrement) {
+		return reactiveBeerRepository.incrementQuantity(id, quantityToIncrement)
+				.flatMap(incrementedRows -> verifyIfExists(id)
+						.flatMap(incrementedBeerStock -> incrementedRows == 0
+								? Mono.<Beer>error(new BeerStockExceededException(id, incrementedBeerStock.getType(), quantityToIncrement))
+								: Mono.just(incrementedBeerStock)))
+				.map(beerMapper::toDTO);
+	}
+	
+	private Mono<Long> nextId() {
+		long id = idBlock.next();
+		return id > 0 ? Mono.just(id) : reactiveBeerRepository.nextIdBlock().map(idBlock::start);
+	}
+	
+	private Mono<Beer> verifyIfExists(Long id) {
+		return reactiveBeerRepository.findById(id)
+				.switchIfEmpty(Mono.defer(() -> Mono.error(new BeerNotFoundException(id))));
+	}
+	
+	private Slice<BeerDTO> toSlice(List<Beer> beers, Pageable pageable) {
+		boolean hasNext = beers.size() > pageable.getPageSize();
+		List<BeerDTO> content = beers.stream()
+				.limit(pageable.getPageSize())
+				.map(beerMapper::toDTO)
+				.collect(Collectors.toList());
+		return new SliceImpl<>(content, pageable, hasNext);
+	}
+	
+	private String orderBy(Sort sort) {
+		if (sort.isUnsorted()) {
+			return " order by id";
+		}
+		return sort.stream()
+				.map(order -> {
+					String column = order.getProperty().toLowerCase();
+					if (!SORTABLE_COLUMNS.contains(column)) {
+						throw new IllegalArgumentException(String.format("Beers cannot be sorted by %s.", order.getProperty()));
+					}
+					return column + " " + order.getDirection().name();
+				})
+				.collect(Collectors.joining(", ", " order by ", ""));
+	}
+	
+	private Pageable capPageSize(Pageable pageable) {
+		if (pageable.isUnpaged()) {
+			return PageRequest.of(0, BeerService.MAX_PAGE_SIZE);
+		}
+		if (pageable.getPageSize() > BeerService.MAX_PAGE_SIZE) {
+			return PageRequest.of(pageable.getPageNumber(), BeerService.MAX_PAGE_SIZE, pageable.getSort());
+		}
+		return pageable;
+	}
+	
+	/**
+	 * Ids handed out the way Hibernate's pooled optimizer does for {@link Beer}: each sequence
+	 * value reserves the {@link Beer#ID_ALLOCATION_SIZE} ids ending at it, so both sides share
+	 * the sequence without colliding.
+	 */
+	private static final class IdBlock {
+		
+		private long next = 1;
+		private long last;
+		
+		synchronized long next() {
+			return next <= last ? next++ : 0;
+		}
+		
+		synchronized long start(long blockEnd) {
+			next = Math.max(1, blockEnd - Beer.ID_ALLOCATION_SIZE + 1);
+			last = blockEnd;
+			return next++;
+		}
+		
+	}
+
+}
@@ -0,0 +1,347 @@
+package com.inacioalves.beer.api.stock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.inacioalves.beer.api.config.CacheConfig;
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.dto.StockAdjustmentDTO;
+import com.inacioalves.beer.api.entity.Beer;
+import com.inacioalves.beer.api.event.StockChangedEvent;
+import com.inacioalves.beer.api.exception.BeerNotFoundException;
+import com.inacioalves.beer.api.exception.BeerStockExceededException;
+import com.inacioalves.beer.api.mapper.BeerMapper;
+import com.inacioalves.beer.api.repository.BeerRepository;
+import com.inacioalves.beer.api.service.BeerService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Acknowledges stock increments from an in-memory snapshot of each beer and writes their sum
+ * in batches, in a transaction of their own. Deltas the database rejects are dropped and counted.
+ */
+@Slf4j
+public class StockWriteBehindBuffer implements DisposableBean {
+	
+	public static final String DROPPED_COUNTER = "beer.stock.write-behind.dropped";
+	
+	private final BeerRepository beerRepository;
+	private final CacheManager cacheManager;
+	private final ApplicationEventPublisher eventPublisher;
+	private final StockWriteBehindProperties properties;
+	private final TransactionTemplate transactionTemplate;
+	private final Counter rejectedDrops;
+	private final Counter notFoundDrops;
+	private final BeerMapper beerMapper = BeerMapper.INSTACE;
+	private final ConcurrentMap<Long, BufferedStock> bufferedStocks = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Long, AtomicInteger> heldIds = new ConcurrentHashMap<>();
+	private final AtomicInteger unflushedIncrements = new AtomicInteger();
+	private final ReentrantLock flushLock = new ReentrantLock();
+	
+	public StockWriteBehindBuffer(BeerRepository beerRepository, CacheManager cacheManager, ApplicationEventPublisher eventPublisher,
+			StockWriteBehindProperties properties, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+		this.beerRepository = beerRepository;
+		this.cacheManager = cacheManager;
+		this.eventPublisher = eventPublisher;
+		this.properties = properties;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.rejectedDrops = meterRegistry.counter(DROPPED_COUNTER, "reason", "rejected");
+		this.notFoundDrops = meterRegistry.counter(DROPPED_COUNTER, "reason", "not_found");
+	}
+	
+	public boolean isEnabled() {
+		return properties.isEnabled();
+	}
+	
+	/**
+	 * Returns empty while {@link BeerService} writes the beer directly, the caller then writes
+	 * the increment itself.
+	 */
+	public Optional<BeerDTO> increment(Long id, int quantityToIncrement) throws BeerNotFoundException, BeerStockExceededException {
+		while (true) {
+			if (heldIds.containsKey(id)) {
+				return Optional.empty();
+			}
+			BufferedStock bufferedStock = bufferedStocks.get(id);
+			if (bufferedStock == null) {
+				Beer beer = transactionTemplate.execute(status -> beerRepository.findById(id))
+						.orElseThrow(() -> new BeerNotFoundException(id));
+				if (heldIds.containsKey(id)) {
+					continue;
+				}
+				bufferedStock = bufferedStocks.computeIfAbsent(id, key -> new BufferedStock(beer));
+			}
+			if (bufferedStock.stale) {
+				refresh(bufferedStock);
+			}
+			BeerDTO incrementedBeerDTO;
+			synchronized (bufferedStock) {
+				if (bufferedStock.invalidated || bufferedStock.stale) {
+					continue;
+				}
+				Beer beer = bufferedStock.beer;
+				if (beer.getQuantity() + quantityToIncrement > beer.getMax()) {
+					throw new BeerStockExceededException(id, beer.getType(), quantityToIncrement);
+				}
+				beer.setQuantity(beer.getQuantity() + quantityToIncrement);
+				bufferedStock.pendingQuantity += quantityToIncrement;
+				incrementedBeerDTO = beerMapper.toDTO(beer);
+			}
+			if (unflushedIncrements.incrementAndGet() >= properties.getFlushThreshold()) {
+				flush(false);
+			}
+			return Optional.of(incrementedBeerDTO);
+		}
+	}
+	
+	@Scheduled(fixedDelayString = "${beer.stock.write-behind.flush-interval-ms:100}")
+	public void flush() {
+		flush(false);
+	}
+	
+	/**
+	 * Writes the pending increments of the given beers and holds them until the current
+	 * transaction completes, so the caller can write them directly. If the pending increments
+	 * cannot be written they go back into the buffer and the failure is rethrown.
+	 */
+	public void flushAndInvalidate(Collection<Long> ids) {
+		for (Long id : ids) {
+			heldIds.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+		}
+		try {
+			List<BufferedStock> invalidatedStocks = new ArrayList<>();
+			for (Long id : ids) {
+				BufferedStock bufferedStock = bufferedStocks.remove(id);
+				if (bufferedStock != null) {
+					synchronized (bufferedStock) {
+						bufferedStock.invalidated = true;
+					}
+					invalidatedStocks.add(bufferedStock);
+				}
+			}
+			if (!invalidatedStocks.isEmpty()) {
+				flushLock.lock();
+				try {
+					write(invalidatedStocks);
+				} catch (RuntimeException e) {
+					invalidatedStocks.forEach(this::restore);
+					throw e;
+				} finally {
+					flushLock.unlock();
+				}
+				invalidatedStocks.stream()
+						.filter(bufferedStock -> bufferedStock.pendingQuantity != 0)
+						.forEach(this::restore);
+			}
+		} finally {
+			releaseAfterCompletion(ids);
+		}
+	}
+	
+	@Override
+	public void destroy() {
+		flush(true);
+	}
+	
+	private void flush(boolean waitForRunningFlush) {
+		if (bufferedStocks.isEmpty()) {
+			return;
+		}
+		if (waitForRunningFlush) {
+			flushLock.lock();
+		} else if (!flushLock.tryLock()) {
+			return;
+		}
+		try {
+			unflushedIncrements.set(0);
+			write(bufferedStocks.values());
+		} catch (RuntimeException e) {
+			log.warn("Flushing buffered stock failed, keeping the increments for the next flush", e);
+		} finally {
+			flushLock.unlock();
+		}
+	}
+	
+	private void write(Collection<BufferedStock> stocksToWrite) {
+		List<StockAdjustmentDTO> adjustments = new ArrayList<>();
+		List<BufferedStock> writtenStocks = new ArrayList<>();
+		for (BufferedStock bufferedStock : stocksToWrite) {
+			synchronized (bufferedStock) {
+				if (bufferedStock.pendingQuantity != 0) {
+					adjustments.add(new StockAdjustmentDTO(bufferedStock.beer.getId(), bufferedStock.pendingQuantity));
+					writtenStocks.add(bufferedStock);
+					bufferedStock.pendingQuantity = 0;
+				}
+			}
+		}
+		if (adjustments.isEmpty()) {
+			return;
+		}
+		List<Integer> rejectedIndexes = new ArrayList<>();
+		List<Integer> droppedIndexes = new ArrayList<>();
+		try {
+			transactionTemplate.execute(status -> {
+				int[] adjustedRows = beerRepository.adjustQuantities(adjustments);
+				Map<Long, Beer> adjustedBeers = beerRepository.findAllById(writtenStocks.stream()
+						.map(bufferedStock -> bufferedStock.beer.getId())
+						.collect(Collectors.toList()))
+						.stream()
+						.collect(Collectors.toMap(Beer::getId, Function.identity()));
+				for (int index = 0; index < writtenStocks.size(); index++) {
+					BufferedStock bufferedStock = writtenStocks.get(index);
+					Beer adjustedBeer = adjustedBeers.get(bufferedStock.beer.getId());
+					if (adjustedRows[index] != 0) {
+						synchronized (bufferedStock) {
+							bufferedStock.beer.setVersion(adjustedBeer.getVersion());
+						}
+						publishStockChanged(adjustedBeer, adjustments.get(index).getQuantity());
+					} else if (adjustedBeer != null) {
+						rejectedIndexes.add(index);
+					} else {
+						droppedIndexes.add(index);
+					}
+				}
+				return null;
+			});
+		} catch (RuntimeException e) {
+			for (int index = 0; index < writtenStocks.size(); index++) {
+				requeue(writtenStocks.get(index), adjustments.get(index).getQuantity());
+			}
+			throw e;
+		}
+		for (int index : rejectedIndexes) {
+			BufferedStock rejectedStock = writtenStocks.get(index);
+			log.warn("Buffered stock change of {} for beer {} was dropped, the database rejected it",
+					adjustments.get(index).getQuantity(), rejectedStock.beer.getId());
+			rejectedDrops.increment();
+			synchronized (rejectedStock) {
+				rejectedStock.stale = true;
+			}
+		}
+		for (int index : droppedIndexes) {
+			BufferedStock droppedStock = writtenStocks.get(index);
+			log.warn("Buffered stock change of {} for beer {} was dropped, the beer no longer exists",
+					adjustments.get(index).getQuantity(), droppedStock.beer.getId());
+			notFoundDrops.increment();
+			if (bufferedStocks.remove(droppedStock.beer.getId(), droppedStock)) {
+				synchronized (droppedStock) {
+					droppedStock.invalidated = true;
+				}
+			}
+		}
+		for (BufferedStock bufferedStock : writtenStocks) {
+			evictFromCache(bufferedStock.beer.getName());
+		}
+	}
+	
+	private void requeue(BufferedStock bufferedStock, int quantity) {
+		synchronized (bufferedStock) {
+			bufferedStock.pendingQuantity += quantity;
+		}
+	}
+	
+	/**
+	 * Puts back a stock whose increments could not be written. Its snapshot may miss a direct
+	 * write made while it was held, so it is refreshed before admitting anything else.
+	 */
+	private void restore(BufferedStock bufferedStock) {
+		synchronized (bufferedStock) {
+			bufferedStock.invalidated = false;
+			bufferedStock.stale = true;
+		}
+		bufferedStocks.putIfAbsent(bufferedStock.beer.getId(), bufferedStock);
+	}
+	
+	/**
+	 * Rebuilds the snapshot from the stored row plus the increments still pending. Runs under
+	 * the flush lock, so no pending increment is in flight to the database meanwhile.
+	 */
+	private void refresh(BufferedStock bufferedStock) throws BeerNotFoundException {
+		Long id = bufferedStock.beer.getId();
+		flushLock.lock();
+		try {
+			Beer storedBeer = transactionTemplate.execute(status -> beerRepository.findById(id))
+					.orElseThrow(() -> new BeerNotFoundException(id));
+			synchronized (bufferedStock) {
+				bufferedStock.beer.setMax(storedBeer.getMax());
+				bufferedStock.beer.setVersion(storedBeer.getVersion());
+				bufferedStock.beer.setQuantity(storedBeer.getQuantity() + bufferedStock.pendingQuantity);
+				bufferedStock.stale = false;
+			}
+		} finally {
+			flushLock.unlock();
+		}
+	}
+	
+	private void releaseAfterCompletion(Collection<Long> ids) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			release(ids);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCompletion(int status) {
+				release(ids);
+			}
+		});
+	}
+	
+	private void release(Collection<Long> ids) {
+		for (Long id : ids) {
+			heldIds.computeIfPresent(id, (key, holds) -> holds.decrementAndGet() == 0 ? null : holds);
+		}
+	}
+	
+	private void publishStockChanged(Beer beer, int delta) {
+		eventPublisher.publishEvent(new StockChangedEvent(beer.getId(), beer.getName(), beer.getType(),
+				beer.getQuantity() - delta, beer.getQuantity(), beer.getMax(), beer.getVersion()));
+	}
+	
+	private void evictFromCache(String name) {
+		Cache beersByName = cacheManager.getCache(CacheConfig.BEERS_BY_NAME_CACHE);
+		if (beersByName != null) {
+			beersByName.evict(name);
+		}
+	}
+	
+	private static final class BufferedStock {
+	
+		private final Beer beer;
+	
+		private int pendingQuantity;
+	
+		private boolean invalidated;
+		
+		private boolean stale;
+	
+		private BufferedStock(Beer beer) {
+			this.beer = new Beer(beer.getId(), beer.getName(), beer.getBrand(), beer.getMax(), beer.getQuantity(),
+					beer.getType(), beer.getSearchName(), beer.getSearchBrand(), beer.getVersion());
+		}
+	
+	}
+	
+}
@@ -0,0 +1,17 @@
+package com.inacioalves.beer.api.stock;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "beer.stock.write-behind")
+public class StockWriteBehindProperties {
+	
+	private boolean enabled = false;
+	
+	private long flushIntervalMs = 100;
+	
+	private int flushThreshold = 1_000;
+
+}
@@ -0,0 +1,70 @@
+package com.inacioalves.beer.api.warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.enums.BeerType;
+import com.inacioalves.beer.api.service.BeerService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Preloads the hot beers and runs the first listing and Jackson round trip before traffic
+ * arrives; readiness stays down until application runners return.
+ */
+@Slf4j
+public class BeerWarmUp implements ApplicationRunner {
+	
+	public static final String WARM_UP_TIMER = "beer.warmup.duration";
+	
+	private static final BeerDTO SAMPLE_BEER = BeerDTO.builder()
+			.name("Warm-up Lager")
+			.brand("Warm-up")
+			.max(1)
+			.type(BeerType.LAGER)
+			.build();
+	
+	private final WarmUpProperties properties;
+	private final HotBeerNames hotBeerNames;
+	private final BeerService beerService;
+	private final ObjectMapper objectMapper;
+	private final MeterRegistry meterRegistry;
+	
+	public BeerWarmUp(WarmUpProperties properties, HotBeerNames hotBeerNames, BeerService beerService, ObjectMapper objectMapper,
+			MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.hotBeerNames = hotBeerNames;
+		this.beerService = beerService;
+		this.objectMapper = objectMapper;
+		this.meterRegistry = meterRegistry;
+	}
+	
+	@Override
+	public void run(ApplicationArguments args) {
+		long startedAt = System.nanoTime();
+		try {
+			List<String> names = hotBeerNames.load();
+			int preloaded = beerService.preloadByName(names);
+			Slice<BeerDTO> firstPage = beerService.listAll(PageRequest.of(0, properties.getListPageSize(), Sort.by("id")));
+			objectMapper.writeValueAsBytes(firstPage);
+			BeerDTO sample = firstPage.hasContent() ? firstPage.getContent().get(0) : SAMPLE_BEER;
+			objectMapper.readValue(objectMapper.writeValueAsBytes(sample), BeerDTO.class);
+			log.info("Warmed up {} of {} hot beers in {} ms", preloaded, names.size(),
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+		} catch (Exception e) {
+			log.warn("Warm-up did not complete, serving cold", e);
+		} finally {
+			meterRegistry.timer(WARM_UP_TIMER).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.inacioalves.beer.api.warmup;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.inacioalves.beer.api.config.CacheConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remembers which beer names are hot across restarts and deploys. The hottest keys of the
+ * Caffeine {@code beersByName} cache are written to the {@code hot_beer_name} table
+ * periodically and on shutdown, so request paths pay nothing for the tracking.
+ */
+@Slf4j
+public class HotBeerNames implements DisposableBean {
+	
+	private static final String LOAD_SQL = "select name from hot_beer_name order by hot_rank limit ?";
+	private static final String CLEAR_SQL = "delete from hot_beer_name";
+	private static final String SAVE_SQL = "insert into hot_beer_name (name, hot_rank) values (?, ?)";
+	
+	private final WarmUpProperties properties;
+	private final CacheManager cacheManager;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	
+	public HotBeerNames(WarmUpProperties properties, CacheManager cacheManager, JdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager) {
+		this.properties = properties;
+		this.cacheManager = cacheManager;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+	
+	public List<String> load() {
+		try {
+			return transactionTemplate.execute(status -> jdbcTemplate.queryForList(LOAD_SQL, String.class, properties.getHotNames()));
+		} catch (DataAccessException e) {
+			log.warn("Could not read hot beer names", e);
+			return Collections.emptyList();
+		}
+	}
+	
+	@Scheduled(fixedDelayString = "${beer.warmup.persist-interval-ms:60000}")
+	public void persist() {
+		List<String> names = hottest();
+		if (names.isEmpty()) {
+			return;
+		}
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				jdbcTemplate.update(CLEAR_SQL);
+				jdbcTemplate.batchUpdate(SAVE_SQL, new BatchPreparedStatementSetter() {
+					
+					@Override
+					public void setValues(PreparedStatement statement, int index) throws SQLException {
+						statement.setString(1, names.get(index));
+						statement.setInt(2, index);
+					}
+					
+					@Override
+					public int getBatchSize() {
+						return names.size();
+					}
+				});
+			});
+		} catch (DataAccessException e) {
+			log.warn("Could not write {} hot beer names", names.size(), e);
+		}
+	}
+	
+	@Override
+	public void destroy() {
+		persist();
+	}
+	
+	@SuppressWarnings("unchecked")
+	private List<String> hottest() {
+		Cache beersByName = cacheManager.getCache(CacheConfig.BEERS_BY_NAME_CACHE);
+		if (beersByName == null || !(beersByName.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache)) {
+			return Collections.emptyList();
+		}
+		com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+				(com.github.benmanes.caffeine.cache.Cache<Object, Object>) beersByName.getNativeCache();
+		List<String> names = new ArrayList<>();
+		nativeCache.policy().eviction().ifPresent(eviction ->
+				eviction.hottest(properties.getHotNames()).keySet().forEach(name -> names.add(String.valueOf(name))));
+		return names;
+	}
+
+}
@@ -0,0 +1,19 @@
+package com.inacioalves.beer.api.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "beer.warmup")
+public class WarmUpProperties {
+	
+	private boolean enabled = true;
+	
+	private int hotNames = 1_000;
+	
+	private long persistIntervalMs = 60_000;
+	
+	private int listPageSize = 20;
+
+}
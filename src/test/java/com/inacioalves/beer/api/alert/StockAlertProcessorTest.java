@@ -0,0 +1,87 @@
+package com.inacioalves.beer.api.alert;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.inacioalves.beer.api.alert.StockAlertProperties.StockThreshold;
+import com.inacioalves.beer.api.enums.BeerType;
+import com.inacioalves.beer.api.enums.StockAlertLevel;
+import com.inacioalves.beer.api.event.StockChangedEvent;
+
+public class StockAlertProcessorTest {
+	
+	private static final long VALID_BEER_ID = 1L;
+	private static final int MAX = 100;
+	
+	private InMemoryStockAlertSink stockAlertSink;
+	
+	private StockAlertProcessor stockAlertProcessor;
+	
+	@BeforeEach
+	void setUp() {
+		StockThreshold ipaThreshold = new StockThreshold();
+		ipaThreshold.setLowRatio(0.3);
+		StockAlertProperties properties = new StockAlertProperties();
+		properties.getThresholds().put(BeerType.IPA, ipaThreshold);
+		stockAlertSink = new InMemoryStockAlertSink();
+		stockAlertProcessor = new StockAlertProcessor(properties, stockAlertSink);
+	}
+	
+	@Test
+	void whenStockDropsBelowLowThresholdThenLowStockAlertIsPublished() {
+		stockAlertProcessor.onStockChanged(change(BeerType.LAGER, 20, 10));
+		stockAlertProcessor.flush();
+		
+		assertThat(stockAlertSink.getAlerts(), hasSize(1));
+		assertThat(stockAlertSink.getAlerts().get(0).getLevel(), is(equalTo(StockAlertLevel.LOW_STOCK)));
+		assertThat(stockAlertSink.getAlerts().get(0).getQuantity(), is(equalTo(10)));
+	}
+	
+	@Test
+	void whenStockRisesAboveHighThresholdThenNearMaxAlertIsPublished() {
+		stockAlertProcessor.onStockChanged(change(BeerType.LAGER, 80, 95));
+		stockAlertProcessor.flush();
+		
+		assertThat(stockAlertSink.getAlerts(), hasSize(1));
+		assertThat(stockAlertSink.getAlerts().get(0).getLevel(), is(equalTo(StockAlertLevel.NEAR_MAX)));
+	}
+	
+	@Test
+	void whenStockStaysBelowThresholdThenNoNewAlertIsPublished() {
+		stockAlertProcessor.onStockChanged(change(BeerType.LAGER, 10, 5));
+		stockAlertProcessor.flush();
+		
+		assertThat(stockAlertSink.getAlerts(), is(empty()));
+	}
+	
+	@Test
+	void whenTypeHasItsOwnThresholdThenItIsUsed() {
+		stockAlertProcessor.onStockChanged(change(BeerType.IPA, 40, 25));
+		stockAlertProcessor.onStockChanged(change(BeerType.LAGER, 40, 25));
+		stockAlertProcessor.flush();
+		
+		assertThat(stockAlertSink.getAlerts(), hasSize(1));
+		assertThat(stockAlertSink.getAlerts().get(0).getType(), is(equalTo(BeerType.IPA)));
+	}
+	
+	@Test
+	void whenSameBeerChangesManyTimesInABatchThenChangesAreCoalesced() {
+		stockAlertProcessor.onStockChanged(change(BeerType.LAGER, 50, 5));
+		stockAlertProcessor.onStockChanged(change(BeerType.LAGER, 5, 60));
+		stockAlertProcessor.flush();
+		
+		assertThat(stockAlertSink.getAlerts(), is(empty()));
+	}
+	
+	private StockChangedEvent change(BeerType type, int previousQuantity, int quantity) {
+		long beerId = VALID_BEER_ID + type.ordinal();
+		return new StockChangedEvent(beerId, type.getDescription(), type, previousQuantity, quantity, MAX, 0L);
+	}
+
+}
@@ -0,0 +1,193 @@
+package com.inacioalves.beer.api.availability;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.inacioalves.beer.api.builder.BeerDTOBuilder;
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.enums.BeerType;
+import com.inacioalves.beer.api.service.BeerService;
+
+@SpringBootTest
+public class BeerAvailabilityIndexTest {
+	
+	@Autowired
+	private BeerService beerService;
+	
+	@Autowired
+	private BeerAvailabilityIndex availabilityIndex;
+	
+	private final BeerAvailability availability = new BeerAvailability();
+	
+	private BeerDTO savedBeerDTO;
+	
+	@BeforeEach
+	void setUp() throws Exception {
+		BeerDTO beerDTO = BeerDTOBuilder.builder()
+				.id(null)
+				.name("Availability Weiss")
+				.max(40)
+				.quantity(0)
+				.build()
+				.toBeerDTO();
+		savedBeerDTO = beerService.createBeer(beerDTO);
+	}
+	
+	@AfterEach
+	void tearDown() throws Exception {
+		if (availabilityIndex.find(savedBeerDTO.getName(), availability)) {
+			beerService.deleteById(savedBeerDTO.getId());
+		}
+	}
+	
+	@Test
+	void whenBeerIsCreatedThenItIsIndexedAsUnavailable() {
+		assertThat(availabilityIndex.find(savedBeerDTO.getName(), availability), is(true));
+		assertThat(availability.getId(), equalTo(savedBeerDTO.getId()));
+		assertThat(availability.getMax(), equalTo(40));
+		assertThat(availability.isAvailable(), is(false));
+	}
+	
+	@Test
+	void whenStockIsIncrementedThenTheIndexFollows() throws Exception {
+		//when
+		beerService.increment(savedBeerDTO.getId(), 15);
+		
+		//then
+		assertThat(availabilityIndex.find(savedBeerDTO.getName(), availability), is(true));
+		assertThat(availability.getQuantity(), equalTo(15));
+		assertThat(availability.isAvailable(), is(true));
+	}
+	
+	@Test
+	void whenBeerIsDeletedThenItIsNoLongerIndexed() throws Exception {
+		//when
+		beerService.deleteById(savedBeerDTO.getId());
+		
+		//then
+		assertThat(availabilityIndex.find(savedBeerDTO.getName(), availability), is(false));
+	}
+	
+	@Test
+	void whenAnOlderVersionArrivesAfterANewerOneThenItIsIgnored() {
+		//given
+		BeerAvailabilityIndex smallIndex = new BeerAvailabilityIndex(2, 1, 60_000);
+		smallIndex.put(1L, "Late Lager", 5, 10, BeerType.LAGER, 2L);
+		
+		//when
+		boolean applied = smallIndex.put(1L, "Late Lager", 9, 10, BeerType.LAGER, 1L);
+		
+		//then
+		assertThat(applied, is(false));
+		assertThat(smallIndex.find("Late Lager", availability), is(true));
+		assertThat(availability.getQuantity(), equalTo(5));
+	}
+	
+	@Test
+	void whenBeerIsRemovedThenLaterUpdatesDoNotBringItBack() {
+		//given
+		BeerAvailabilityIndex smallIndex = new BeerAvailabilityIndex(2, 1, 60_000);
+		smallIndex.put(1L, "Removed Lager", 5, 10, BeerType.LAGER, 0L);
+		
+		//when
+		smallIndex.remove(1L);
+		boolean applied = smallIndex.put(1L, "Removed Lager", 5, 10, BeerType.LAGER, 1L);
+		
+		//then
+		assertThat(applied, is(false));
+		assertThat(smallIndex.find("Removed Lager", availability), is(false));
+		assertThat(smallIndex.size(), equalTo(0));
+	}
+	
+	@Test
+	void whenUnknownBeerIsRemovedDuringLoadThenTheLoadDoesNotBringItBack() {
+		//given
+		BeerAvailabilityIndex smallIndex = new BeerAvailabilityIndex(2, 1, 0);
+		smallIndex.remove(1L);
+		
+		//when
+		boolean applied = smallIndex.put(1L, "Deleted Lager", 5, 10, BeerType.LAGER, 0L);
+		
+		//then
+		assertThat(applied, is(false));
+		assertThat(smallIndex.find("Deleted Lager", availability), is(false));
+	}
+	
+	@Test
+	void whenLoadIsFinishedThenExpiredTombstonesAreDropped() {
+		//given
+		BeerAvailabilityIndex smallIndex = new BeerAvailabilityIndex(2, 1, 0);
+		smallIndex.put(1L, "Expired Lager", 5, 10, BeerType.LAGER, 0L);
+		smallIndex.remove(1L);
+		
+		//when
+		smallIndex.finishLoad();
+		boolean applied = smallIndex.put(1L, "Expired Lager", 5, 10, BeerType.LAGER, 1L);
+		
+		//then
+		assertThat(applied, is(true));
+		assertThat(smallIndex.find("Expired Lager", availability), is(true));
+		assertThat(smallIndex.size(), equalTo(1));
+	}
+	
+	@Test
+	void whenBeersAreRenamedRepeatedlyThenTheNameArenaStopsGrowing() {
+		//given
+		BeerAvailabilityIndex smallIndex = new BeerAvailabilityIndex(2, 1, 60_000);
+		long version = 0;
+		for (; version < 200; version++) {
+			for (int id = 0; id < 10; id++) {
+				smallIndex.put(id, "Beer " + id + " v" + version, 1, 10, BeerType.LAGER, version);
+			}
+		}
+		long arenaBytes = smallIndex.nameArenaBytes();
+		
+		//when
+		for (; version < 1_000; version++) {
+			for (int id = 0; id < 10; id++) {
+				smallIndex.put(id, "Beer " + id + " v" + version, 1, 10, BeerType.LAGER, version);
+			}
+		}
+		
+		//then
+		assertThat(smallIndex.nameArenaBytes(), equalTo(arenaBytes));
+		assertThat(smallIndex.find("Beer 9 v999", availability), is(true));
+		assertThat(availability.getId(), equalTo(9L));
+	}
+	
+	@Test
+	void whenIndexOutgrowsItsCapacityThenEveryBeerStaysReachable() {
+		//given
+		BeerAvailabilityIndex smallIndex = new BeerAvailabilityIndex(2, 1, 60_000);
+		int beers = 5_000;
+		
+		//when
+		for (int id = 0; id < beers; id++) {
+			smallIndex.put(id, "Beer " + id, id % 7, 10, BeerType.LAGER, 0L);
+		}
+		for (int id = 0; id < beers; id += 2) {
+			smallIndex.remove(id);
+		}
+		for (int id = 1; id < beers; id += 4) {
+			smallIndex.put(id, "Renamed Beer " + id, 3, 10, BeerType.STOUT, 1L);
+		}
+		
+		//then
+		assertThat(smallIndex.size(), equalTo(beers / 2));
+		assertThat(smallIndex.find("Beer 0", availability), is(false));
+		assertThat(smallIndex.find("Beer 1", availability), is(false));
+		assertThat(smallIndex.find("Renamed Beer 1", availability), is(true));
+		assertThat(availability.getType(), equalTo(BeerType.STOUT));
+		assertThat(smallIndex.find("Beer 4999", availability), is(true));
+		assertThat(availability.getId(), equalTo(4999L));
+		assertThat(availability.getQuantity(), equalTo(4999 % 7));
+	}
+
+}
@@ -27,6 +27,9 @@ public class BeerDTOBuilder {
 		@Builder.Default
 		private BeerType type =BeerType.ALE;
 		
+		@Builder.Default
+		private long version =0L;
+		
 		public BeerDTO toBeerDTO() {
 			return new BeerDTO(
 					id,
@@ -34,7 +37,8 @@ public class BeerDTOBuilder {
 					brand, 
 					max,
 					quantity,
-					type);
+					type,
+					version);
 					
 		}
 	
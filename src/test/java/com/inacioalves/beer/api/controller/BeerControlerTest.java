@@ -1,36 +1,78 @@
 package com.inacioalves.beer.api.controller;
 
 import static com.inacioalves.beer.api.utils.JsonConvertionUtils.asJsonString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inacioalves.beer.api.availability.BeerAvailabilityIndex;
 import com.inacioalves.beer.api.builder.BeerDTOBuilder;
+import com.inacioalves.beer.api.cache.WrittenBeerVersions;
+import com.inacioalves.beer.api.config.CborConfig;
+import com.inacioalves.beer.api.dto.BeerBatchResultDTO;
 import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.dto.BeerFilterDTO;
 import com.inacioalves.beer.api.dto.QuantityDTO;
+import com.inacioalves.beer.api.dto.StockAdjustmentDTO;
+import com.inacioalves.beer.api.dto.StockAdjustmentResultDTO;
+import com.inacioalves.beer.api.dto.StockMovementDTO;
+import com.inacioalves.beer.api.enums.BeerBatchStatus;
+import com.inacioalves.beer.api.enums.BeerType;
+import com.inacioalves.beer.api.enums.StockAdjustmentStatus;
+import com.inacioalves.beer.api.exception.BeerFieldNotSupportedException;
 import com.inacioalves.beer.api.exception.BeerNotFoundException;
 import com.inacioalves.beer.api.exception.BeerStockExceededException;
+import com.inacioalves.beer.api.exception.BeerStockHistoryNotFoundException;
+import com.inacioalves.beer.api.exception.BeerStockInsufficientException;
+import com.inacioalves.beer.api.ledger.StockLedger;
 import com.inacioalves.beer.api.service.BeerService;
+import com.inacioalves.beer.api.service.CatalogVersion;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -38,15 +80,32 @@ public class BeerControlerTest {
 	
 	private static final String BEER_API_URL_PATH = "/api/v1/beers";
     private static final long VALID_BEER_ID = 1L;
+    private static final String VALID_BEER_NAME = "Smirnoff";
     private static final long INVALID_BEER_ID = 2l;
     private static final String BEER_API_SUBPATH_INCREMENT_URL = "/increment";
 //    private static final String BEER_API_SUBPATH_DECREMENT_URL = "/decrement";
+    private static final String BEER_API_SUBPATH_STOCK_URL = "/stock";
 
     private MockMvc mockMvc;
 
     @Mock
     private BeerService beerService;
 
+    @Mock
+    private CatalogVersion catalogVersion;
+    
+    @Mock
+    private WrittenBeerVersions writtenBeerVersions;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private BeerAvailabilityIndex availabilityIndex = new BeerAvailabilityIndex(16, 8, 60_000);
+
     @InjectMocks
     private BeerController beerController;
 
@@ -54,6 +113,7 @@ public class BeerControlerTest {
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(beerController)
                 .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .setControllerAdvice(new BeerExceptionHandler())
                 .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
                 .build();
     }
@@ -89,6 +149,28 @@ public class BeerControlerTest {
     	
     }
     
+    @Test
+    void whenPOSTBatchIsCalledThenEachBeerResultIsReturned() throws Exception {
+        BeerDTO beerDTO = beerDTOBuilder();
+        List<BeerDTO> beersDTO = Arrays.asList(beerDTO, beerDTO);
+        List<BeerBatchResultDTO> results = Arrays.asList(
+        		new BeerBatchResultDTO(0, beerDTO.getName(), BeerBatchStatus.CREATED, beerDTO),
+        		new BeerBatchResultDTO(1, beerDTO.getName(), BeerBatchStatus.DUPLICATED_IN_REQUEST, null));
+
+        // when
+        when(beerService.createBeers(beersDTO)).thenReturn(results);
+
+        // then
+        mockMvc.perform(post(BEER_API_URL_PATH + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(beersDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(BeerBatchStatus.CREATED.toString())))
+                .andExpect(jsonPath("$[0].beer.name", is(beerDTO.getName())))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].status", is(BeerBatchStatus.DUPLICATED_IN_REQUEST.toString())));
+    }
+    
     @Test
     void whenGETIsCalledWithValidNameThenOkStatusIsReturned() throws Exception {
     	BeerDTO beerDTO = beerDTOBuilder();
@@ -105,18 +187,77 @@ public class BeerControlerTest {
 		        .andExpect(jsonPath("$.type", is(beerDTO.getType().toString())));
     }
     
+    @Test
+    void whenGETIsCalledWithValidNameThenETagIsReturned() throws Exception {
+    	BeerDTO beerDTO = beerDTOBuilder();
+    	beerDTO.setVersion(3L);
+        
+        //when
+        when(beerService.findByName(beerDTO.getName())).thenReturn(beerDTO);
+        when(writtenBeerVersions.isCurrent(beerDTO)).thenReturn(true);
+        
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/" + beerDTO.getName()))
+		        .andExpect(status().isOk())
+		        .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3-" + beerDTO.getQuantity() + "\""))
+		        .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+		        .andExpect(jsonPath("$.version", is(3)));
+    }
+    
+    @Test
+    void whenGETIsCalledWithCurrentETagThenNotModifiedStatusIsReturned() throws Exception {
+    	BeerDTO beerDTO = beerDTOBuilder();
+    	beerDTO.setVersion(3L);
+        
+        //when
+        when(beerService.findByName(beerDTO.getName())).thenReturn(beerDTO);
+        when(writtenBeerVersions.isCurrent(beerDTO)).thenReturn(true);
+        
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/" + beerDTO.getName())
+        		.header(HttpHeaders.IF_NONE_MATCH, "W/\"1-3-" + beerDTO.getQuantity() + "\""))
+		        .andExpect(status().isNotModified())
+		        .andExpect(content().string(""));
+    }
+    
+    @Test
+    void whenGETIsCalledAcceptingCborThenBeerIsReturnedWithTypeOrdinal() throws Exception {
+    	BeerDTO beerDTO = beerDTOBuilder();
+    	ObjectMapper cborObjectMapper = CborConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json());
+    	MockMvc cborMockMvc = MockMvcBuilders.standaloneSetup(beerController)
+    			.setMessageConverters(new MappingJackson2CborHttpMessageConverter(cborObjectMapper))
+    			.build();
+        
+        //when
+        when(beerService.findByName(beerDTO.getName())).thenReturn(beerDTO);
+        
+        // then
+        byte[] body = cborMockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/" + beerDTO.getName())
+        		.accept(MediaType.APPLICATION_CBOR))
+		        .andExpect(status().isOk())
+		        .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+		        .andReturn().getResponse().getContentAsByteArray();
+        JsonNode beer = cborObjectMapper.readTree(body);
+        assertThat(beer.get("name").asText(), equalTo(beerDTO.getName()));
+        assertThat(beer.get("type").isInt(), equalTo(true));
+        assertThat(cborObjectMapper.treeToValue(beer, BeerDTO.class), equalTo(beerDTO));
+    }
+    
     @Test
     void whenGETIsCalledWithoutRegisteredNameThenNotFoundStatusIsReturned() throws Exception {
     	BeerDTO beerDTO = beerDTOBuilder();
         
         //when
-        when(beerService.findByName(beerDTO.getName())).thenThrow(BeerNotFoundException.class);
+        when(beerService.findByName(beerDTO.getName())).thenThrow(new BeerNotFoundException(beerDTO.getName()));
         
         
         // then
         mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/" + beerDTO.getName())
 		        .contentType(MediaType.APPLICATION_JSON))
-        		.andExpect(status().isNotFound());
+        		.andExpect(status().isNotFound())
+        		.andExpect(jsonPath("$.status", is(404)))
+        		.andExpect(jsonPath("$.error", is("Not Found")))
+        		.andExpect(jsonPath("$.message", is("Beer with name " + beerDTO.getName() + " not found in the system.")));
     	
     }
     
@@ -126,15 +267,15 @@ public class BeerControlerTest {
         BeerDTO beerDTO = beerDTOBuilder();
         
         //then
-        when(beerService.listAll()).thenReturn(Collections.singletonList(beerDTO));
+        when(beerService.listAll(any(Pageable.class))).thenReturn(new SliceImpl<>(Collections.singletonList(beerDTO), PageRequest.of(0, 20), false));
         
         //then
         mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH)
         		.contentType(MediaType.APPLICATION_JSON))
 		        .andExpect(status().isOk())
-		        .andExpect(jsonPath("$[0].name", is(beerDTO.getName())))
-		        .andExpect(jsonPath("$[0].brand", is(beerDTO.getBrand())))
-		        .andExpect(jsonPath("$[0].type", is(beerDTO.getType().toString())));
+		        .andExpect(jsonPath("$.content[0].name", is(beerDTO.getName())))
+		        .andExpect(jsonPath("$.content[0].brand", is(beerDTO.getBrand())))
+		        .andExpect(jsonPath("$.content[0].type", is(beerDTO.getType().toString())));
         		
         
     	
@@ -149,7 +290,7 @@ public class BeerControlerTest {
         BeerDTO beerDTO = beerDTOBuilder();
         
         //then
-        when(beerService.listAll()).thenReturn(Collections.singletonList(beerDTO));
+        when(beerService.listAll(any(Pageable.class))).thenReturn(new SliceImpl<>(Collections.singletonList(beerDTO), PageRequest.of(0, 20), false));
         
         //then
         mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH)
@@ -158,7 +299,219 @@ public class BeerControlerTest {
         
     }
     
+    @Test
+    void whenGETListIsCalledWithCurrentCatalogETagThenNotModifiedStatusIsReturned() throws Exception {
+        //when
+        when(catalogVersion.currentETag()).thenReturn("catalog-1-5");
+        
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH)
+        		.header(HttpHeaders.IF_NONE_MATCH, "\"catalog-1-5\""))
+		        .andExpect(status().isNotModified())
+		        .andExpect(header().string(HttpHeaders.ETAG, "\"catalog-1-5\""));
+        verifyNoInteractions(beerService);
+    }
+    
+    @Test
+    void whenGETListWithPageParametersIsCalledThenRequestedPageIsUsed() throws Exception {
+    	// given
+        BeerDTO beerDTO = beerDTOBuilder();
+        Pageable requestedPage = PageRequest.of(2, 5, Sort.by("name"));
+        
+        //when
+        when(beerService.listAll(requestedPage)).thenReturn(new SliceImpl<>(Collections.singletonList(beerDTO), requestedPage, true));
+        
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH)
+        		.param("page", "2")
+        		.param("size", "5")
+        		.param("sort", "name")
+        		.contentType(MediaType.APPLICATION_JSON))
+		        .andExpect(status().isOk())
+		        .andExpect(jsonPath("$.content[0].name", is(beerDTO.getName())))
+		        .andExpect(jsonPath("$.last", is(false)));
+    }
+    
+    @Test
+    void whenGETListWithAfterIdIsCalledThenKeysetPageIsReturned() throws Exception {
+    	// given
+        BeerDTO beerDTO = beerDTOBuilder();
+        
+        //when
+        when(beerService.listAfter(VALID_BEER_ID, 5)).thenReturn(new SliceImpl<>(Collections.singletonList(beerDTO), PageRequest.of(0, 5, Sort.by("id")), false));
+        
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH)
+        		.param("afterId", String.valueOf(VALID_BEER_ID))
+        		.param("size", "5")
+        		.contentType(MediaType.APPLICATION_JSON))
+		        .andExpect(status().isOk())
+		        .andExpect(jsonPath("$.content[0].name", is(beerDTO.getName())));
+    }
+    
+    
+    @Test
+    void whenGETListWithFilterIsCalledThenMatchingBeersAreReturned() throws Exception {
+    	// given
+        BeerDTO beerDTO = beerDTOBuilder();
+        BeerFilterDTO filter = BeerFilterDTO.builder().type(BeerType.IPA).maxFillRatio(0.1).build();
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("id"));
+        
+        //when
+        when(beerService.listMatching(filter, null, pageable)).thenReturn(new SliceImpl<>(Collections.singletonList(beerDTO), pageable, false));
+        
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH)
+        		.param("type", "IPA")
+        		.param("maxFillRatio", "0.1")
+        		.contentType(MediaType.APPLICATION_JSON))
+		        .andExpect(status().isOk())
+		        .andExpect(jsonPath("$.content[0].name", is(beerDTO.getName())));
+    }
+    
+    @Test
+    void whenGETListWithFieldsIsCalledThenOnlyRequestedFieldsAreReturned() throws Exception {
+    	// given
+        BeerDTO beerDTO = beerDTOBuilder();
+        Map<String, Object> beerFields = new LinkedHashMap<>();
+        beerFields.put("name", beerDTO.getName());
+        beerFields.put("quantity", beerDTO.getQuantity());
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("id"));
+        
+        //when
+        when(beerService.listFields(Arrays.asList("name", "quantity"), new BeerFilterDTO(), null, pageable))
+        		.thenReturn(new SliceImpl<>(Collections.singletonList(beerFields), pageable, false));
+        
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH)
+        		.param("fields", "name,quantity")
+        		.contentType(MediaType.APPLICATION_JSON))
+		        .andExpect(status().isOk())
+		        .andExpect(jsonPath("$.content[0].name", is(beerDTO.getName())))
+		        .andExpect(jsonPath("$.content[0].brand").doesNotExist());
+    }
+    
+    @Test
+    void whenGETIsCalledWithUnsupportedFieldThenBadRequestStatusIsReturned() throws Exception {
+        //when
+        when(beerService.findFieldsByName(VALID_BEER_NAME, Collections.singletonList("searchName")))
+        		.thenThrow(BeerFieldNotSupportedException.class);
+        
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/" + VALID_BEER_NAME)
+        		.param("fields", "searchName")
+        		.contentType(MediaType.APPLICATION_JSON))
+		        .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void whenGETSearchIsCalledThenRankedMatchesAreReturned() throws Exception {
+    	// given
+        BeerDTO beerDTO = beerDTOBuilder();
+        
+        //when
+        when(beerService.search("smir", 5)).thenReturn(Collections.singletonList(beerDTO));
+        
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/search")
+        		.param("q", "smir")
+        		.param("limit", "5")
+        		.contentType(MediaType.APPLICATION_JSON))
+		        .andExpect(status().isOk())
+		        .andExpect(jsonPath("$[0].name", is(beerDTO.getName())));
+    }
     
+    @Test
+    void whenGETAllIsCalledThenBeersAreStreamedAsJsonArray() throws Exception {
+    	// given
+        BeerDTO firstBeerDTO = beerDTOBuilder();
+        BeerDTO secondBeerDTO = BeerDTOBuilder.builder().id(2L).name("Heineken").build().toBeerDTO();
+
+        //when
+        when(catalogVersion.currentETag()).thenReturn("W/\"catalog-1-0\"");
+        doAnswer(invocation -> {
+        	Consumer<BeerDTO> beerConsumer = invocation.getArgument(0);
+        	beerConsumer.accept(firstBeerDTO);
+        	beerConsumer.accept(secondBeerDTO);
+        	return null;
+        }).when(beerService).exportAll(any());
+
+        //then
+        MvcResult listResult = mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/all"))
+        		.andExpect(request().asyncStarted())
+        		.andReturn();
+
+        mockMvc.perform(asyncDispatch(listResult))
+        		.andExpect(status().isOk())
+        		.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        		.andExpect(header().string(HttpHeaders.ETAG, "W/\"catalog-1-0\""))
+        		.andExpect(content().string(objectMapper.writeValueAsString(List.of(firstBeerDTO, secondBeerDTO))));
+    }
+
+    @Test
+    void whenGETExportIsCalledThenBeersAreStreamedAsNdjson() throws Exception {
+    	// given
+        BeerDTO firstBeerDTO = beerDTOBuilder();
+        BeerDTO secondBeerDTO = BeerDTOBuilder.builder().id(2L).name("Heineken").build().toBeerDTO();
+        
+        //when
+        doAnswer(invocation -> {
+        	Consumer<BeerDTO> beerConsumer = invocation.getArgument(0);
+        	beerConsumer.accept(firstBeerDTO);
+        	beerConsumer.accept(secondBeerDTO);
+        	return null;
+        }).when(beerService).exportAll(any());
+        
+        //then
+        MvcResult exportResult = mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/export"))
+        		.andExpect(request().asyncStarted())
+        		.andReturn();
+        
+        mockMvc.perform(asyncDispatch(exportResult))
+        		.andExpect(status().isOk())
+        		.andExpect(content().contentType("application/x-ndjson"))
+        		.andExpect(content().string(objectMapper.writeValueAsString(firstBeerDTO) + "\n"
+        				+ objectMapper.writeValueAsString(secondBeerDTO) + "\n"));
+    }
+    
+    @Test
+    void whenGETMovementsIsCalledThenHistoryPageIsReturned() throws Exception {
+    	// given
+        StockMovementDTO movementDTO = StockMovementDTO.builder()
+        		.id(7L)
+        		.beerId(VALID_BEER_ID)
+        		.delta(5)
+        		.quantity(15)
+        		.occurredAt(Instant.parse("2026-01-01T10:00:00Z"))
+        		.build();
+
+        //when
+        when(stockLedger.history(VALID_BEER_ID, 8L, 1)).thenReturn(new SliceImpl<>(List.of(movementDTO), PageRequest.of(0, 1), true));
+
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/movements")
+        		.param("beforeId", "8")
+        		.param("size", "1"))
+		        .andExpect(status().isOk())
+		        .andExpect(jsonPath("$.content[0].id", is(7)))
+		        .andExpect(jsonPath("$.content[0].delta", is(5)))
+		        .andExpect(jsonPath("$.last", is(false)));
+    }
+
+    @Test
+    void whenGETQuantityIsCalledBeforeAnyMovementThenNotFoundStatusIsReturned() throws Exception {
+    	// given
+        Instant at = Instant.parse("2026-01-01T10:00:00Z");
+
+        //when
+        when(stockLedger.quantityAt(VALID_BEER_ID, at)).thenThrow(new BeerStockHistoryNotFoundException(VALID_BEER_ID, at));
+
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/quantity")
+        		.param("at", at.toString()))
+		        .andExpect(status().isNotFound());
+    }
+
     @Test
     void whenDELETEIsCalledWithValidIdThenNoContentStatusIsReturned() throws Exception {
     	// given
@@ -238,6 +591,64 @@ public class BeerControlerTest {
               .andExpect(status().isNotFound());
   }
 
+  @Test
+  void whenPATCHIsCalledToAdjustStockThenEachAdjustmentResultIsReturned() throws Exception {
+      BeerDTO beerDTO = beerDTOBuilder();
+      List<StockAdjustmentDTO> adjustments = Arrays.asList(
+              new StockAdjustmentDTO(VALID_BEER_ID, -5),
+              new StockAdjustmentDTO(INVALID_BEER_ID, 5));
+      List<StockAdjustmentResultDTO> results = Arrays.asList(
+              new StockAdjustmentResultDTO(0, VALID_BEER_ID, -5, StockAdjustmentStatus.APPLIED, beerDTO),
+              new StockAdjustmentResultDTO(1, INVALID_BEER_ID, 5, StockAdjustmentStatus.NOT_FOUND, null));
+
+      when(beerService.adjustStock(adjustments, false)).thenReturn(results);
+
+      mockMvc.perform(patch(BEER_API_URL_PATH + BEER_API_SUBPATH_STOCK_URL)
+              .param("atomic", "false")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(asJsonString(adjustments)))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$[0].status", is(StockAdjustmentStatus.APPLIED.toString())))
+              .andExpect(jsonPath("$[1].status", is(StockAdjustmentStatus.NOT_FOUND.toString())));
+  }
+
+  @Test
+  void whenPATCHIsCalledToAdjustStockBelowZeroThenBadRequestStatusIsReturned() throws Exception {
+      List<StockAdjustmentDTO> adjustments = Collections.singletonList(new StockAdjustmentDTO(VALID_BEER_ID, -500));
+
+      when(beerService.adjustStock(adjustments, true)).thenThrow(BeerStockInsufficientException.class);
+
+      mockMvc.perform(patch(BEER_API_URL_PATH + BEER_API_SUBPATH_STOCK_URL)
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(asJsonString(adjustments)))
+              .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void whenGETAvailabilityIsCalledWithRegisteredNameThenStockIsReturnedFromTheIndex() throws Exception {
+      BeerDTO beerDTO = beerDTOBuilder();
+      availabilityIndex.put(beerDTO.getId(), beerDTO.getName(), beerDTO.getQuantity(), beerDTO.getMax(), beerDTO.getType(),
+              beerDTO.getVersion());
+
+      MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/" + beerDTO.getName() + "/availability"))
+              .andExpect(status().isOk())
+              .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+              .andExpect(jsonPath("$.id", is(beerDTO.getId().intValue())))
+              .andExpect(jsonPath("$.quantity", is(beerDTO.getQuantity())))
+              .andExpect(jsonPath("$.max", is(beerDTO.getMax())))
+              .andExpect(jsonPath("$.type", is(beerDTO.getType().toString())))
+              .andExpect(jsonPath("$.available", is(true)))
+              .andReturn();
+      assertThat(result.getResponse().getContentLength(), equalTo(result.getResponse().getContentAsByteArray().length));
+      verifyNoInteractions(beerService);
+  }
+
+  @Test
+  void whenGETAvailabilityIsCalledWithoutRegisteredNameThenNotFoundStatusIsReturned() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/Unknown/availability"))
+              .andExpect(status().isNotFound())
+              .andExpect(jsonPath("$.message", is("Beer with name Unknown not found in the system.")));
+  }
  
     
     private BeerDTO beerDTOBuilder() {
@@ -0,0 +1,64 @@
+package com.inacioalves.beer.api.controller;
+
+import static com.inacioalves.beer.api.utils.JsonConvertionUtils.asJsonString;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.inacioalves.beer.api.builder.BeerDTOBuilder;
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.dto.StockAdjustmentDTO;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BeerControllerValidationTest {
+	
+	private static final String BEER_API_URL_PATH = "/api/v1/beers";
+	
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Test
+	void whenBatchContainsAnInvalidBeerThenBadRequestIsReturnedAndNothingIsSaved() throws Exception {
+		//given
+		BeerDTO validBeerDTO = BeerDTOBuilder.builder().id(null).name("Validated Pilsen").build().toBeerDTO();
+		BeerDTO invalidBeerDTO = BeerDTOBuilder.builder().id(null).name("").max(600).build().toBeerDTO();
+		
+		//then
+		mockMvc.perform(post(BEER_API_URL_PATH + "/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(asJsonString(Arrays.asList(validBeerDTO, invalidBeerDTO))))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message", containsString("[1].max")))
+				.andExpect(jsonPath("$.message", containsString("[1].name")));
+		mockMvc.perform(get(BEER_API_URL_PATH + "/" + validBeerDTO.getName()))
+				.andExpect(status().isNotFound());
+	}
+	
+	@Test
+	void whenStockAdjustmentHasNoQuantityThenBadRequestIsReturned() throws Exception {
+		//given
+		StockAdjustmentDTO adjustmentDTO = StockAdjustmentDTO.builder().id(1L).quantity(null).build();
+		
+		//then
+		mockMvc.perform(patch(BEER_API_URL_PATH + "/stock")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(asJsonString(Collections.singletonList(adjustmentDTO))))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message", containsString("[0].quantity")));
+	}
+
+}
@@ -0,0 +1,187 @@
+package com.inacioalves.beer.api.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.inacioalves.beer.api.builder.BeerDTOBuilder;
+import com.inacioalves.beer.api.config.CborConfig;
+import com.inacioalves.beer.api.config.ReactiveConfig;
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.dto.QuantityDTO;
+
+@ActiveProfiles("reactive")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ReactiveBeerControllerTest {
+	
+	private static final String BEER_API_URL_PATH = "/api/v1/beers";
+	private static final long INVALID_BEER_ID = 9999L;
+	private static final String BEER_API_SUBPATH_INCREMENT_URL = "/increment";
+	
+	@Autowired
+	private WebTestClient webTestClient;
+	
+	private BeerDTO savedBeerDTO;
+	
+	@BeforeEach
+	void setUp() {
+		BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).name("Reactive Lager").build().toBeerDTO();
+		savedBeerDTO = webTestClient.post().uri(BEER_API_URL_PATH)
+				.bodyValue(beerDTO)
+				.exchange()
+				.expectStatus().isCreated()
+				.expectBody(BeerDTO.class)
+				.returnResult()
+				.getResponseBody();
+	}
+	
+	@AfterEach
+	void tearDown() {
+		webTestClient.delete().uri(BEER_API_URL_PATH + "/" + savedBeerDTO.getId())
+				.exchange()
+				.expectStatus().isNoContent();
+	}
+	
+	@Test
+	void whenPOSTIsCalledWithAlreadyRegisteredNameThenBadRequestStatusIsReturned() {
+		webTestClient.post().uri(BEER_API_URL_PATH)
+				.bodyValue(savedBeerDTO)
+				.exchange()
+				.expectStatus().isBadRequest();
+	}
+	
+	@Test
+	void whenPOSTIsCalledWithEmptyBrandThenBadRequestStatusIsReturned() {
+		BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).name("Reactive Stout").build().toBeerDTO();
+		beerDTO.setBrand("");
+		
+		webTestClient.post().uri(BEER_API_URL_PATH)
+				.bodyValue(beerDTO)
+				.exchange()
+				.expectStatus().isBadRequest();
+	}
+	
+	@Test
+	void whenBeersAreCreatedThenTheyShareTheSequenceBlockLikeJpa() {
+		BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).name("Reactive Pilsen").build().toBeerDTO();
+		
+		BeerDTO createdBeerDTO = webTestClient.post().uri(BEER_API_URL_PATH)
+				.bodyValue(beerDTO)
+				.exchange()
+				.expectStatus().isCreated()
+				.expectBody(BeerDTO.class)
+				.returnResult()
+				.getResponseBody();
+		webTestClient.delete().uri(BEER_API_URL_PATH + "/" + createdBeerDTO.getId())
+				.exchange()
+				.expectStatus().isNoContent();
+		
+		assertThat(createdBeerDTO.getId(), is(savedBeerDTO.getId() + 1));
+	}
+	
+	@Test
+	void whenGETIsCalledWithValidNameThenOkStatusIsReturned() {
+		webTestClient.get().uri(BEER_API_URL_PATH + "/" + savedBeerDTO.getName())
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.id").isEqualTo(savedBeerDTO.getId())
+				.jsonPath("$.quantity").isEqualTo(savedBeerDTO.getQuantity());
+	}
+	
+	@Test
+	void whenGETIsCalledWithoutRegisteredNameThenNotFoundStatusIsReturned() {
+		webTestClient.get().uri(BEER_API_URL_PATH + "/Unknown")
+				.exchange()
+				.expectStatus().isNotFound()
+				.expectBody()
+				.jsonPath("$.status").isEqualTo(404)
+				.jsonPath("$.message").isEqualTo("Beer with name Unknown not found in the system.");
+	}
+	
+	@Test
+	void whenGETListIsCalledThenSliceOfBeersIsReturned() {
+		webTestClient.get().uri(BEER_API_URL_PATH + "?size=1")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.content[0].name").isEqualTo(savedBeerDTO.getName())
+				.jsonPath("$.size").isEqualTo(1)
+				.jsonPath("$.last").isEqualTo(true);
+	}
+	
+	@Test
+	void whenGETListIsCalledAcceptingCborThenSliceIsEncodedAsCbor() throws Exception {
+		byte[] body = webTestClient.get().uri(BEER_API_URL_PATH + "?size=1")
+				.accept(MediaType.APPLICATION_CBOR)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentType(MediaType.APPLICATION_CBOR)
+				.expectBody()
+				.returnResult()
+				.getResponseBody();
+		
+		JsonNode slice = CborConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json()).readTree(body);
+		assertThat(slice.at("/content/0/name").asText(), is(savedBeerDTO.getName()));
+		assertThat(slice.at("/content/0/type").asInt(), is(savedBeerDTO.getType().ordinal()));
+	}
+	
+	@Test
+	void whenGETExportIsCalledThenBeersAreStreamedAsNdjson() {
+		String body = webTestClient.get().uri(BEER_API_URL_PATH + "/export")
+				.accept(MediaType.parseMediaType(ReactiveConfig.APPLICATION_NDJSON_VALUE))
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentTypeCompatibleWith(ReactiveConfig.APPLICATION_NDJSON_VALUE)
+				.expectBody(String.class)
+				.returnResult()
+				.getResponseBody();
+		
+		assertThat(body.startsWith("{") && body.endsWith("}\n"), is(true));
+		assertThat(body, containsString("\"name\":\"" + savedBeerDTO.getName() + "\""));
+	}
+	
+	@Test
+	void whenPATCHIsCalledToIncrementThenOkStatusIsReturned() {
+		QuantityDTO quantityDTO = QuantityDTO.builder().quantity(10).build();
+		
+		webTestClient.patch().uri(BEER_API_URL_PATH + "/" + savedBeerDTO.getId() + BEER_API_SUBPATH_INCREMENT_URL)
+				.bodyValue(quantityDTO)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.quantity").isEqualTo(savedBeerDTO.getQuantity() + quantityDTO.getQuantity());
+	}
+	
+	@Test
+	void whenPATCHIsCalledToIncrementGreatherThanMaxThenBadRequestStatusIsReturned() {
+		QuantityDTO quantityDTO = QuantityDTO.builder().quantity(savedBeerDTO.getMax()).build();
+		
+		webTestClient.patch().uri(BEER_API_URL_PATH + "/" + savedBeerDTO.getId() + BEER_API_SUBPATH_INCREMENT_URL)
+				.bodyValue(quantityDTO)
+				.exchange()
+				.expectStatus().isBadRequest();
+	}
+	
+	@Test
+	void whenPATCHIsCalledWithInvalidBeerIdToIncrementThenNotFoundStatusIsReturned() {
+		QuantityDTO quantityDTO = QuantityDTO.builder().quantity(10).build();
+		
+		webTestClient.patch().uri(BEER_API_URL_PATH + "/" + INVALID_BEER_ID + BEER_API_SUBPATH_INCREMENT_URL)
+				.bodyValue(quantityDTO)
+				.exchange()
+				.expectStatus().isNotFound();
+	}
+
+}
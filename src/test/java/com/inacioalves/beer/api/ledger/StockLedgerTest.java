@@ -0,0 +1,164 @@
+package com.inacioalves.beer.api.ledger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.inacioalves.beer.api.builder.BeerDTOBuilder;
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.dto.StockMovementDTO;
+import com.inacioalves.beer.api.exception.BeerStockHistoryNotFoundException;
+import com.inacioalves.beer.api.service.BeerService;
+
+@SpringBootTest(properties = {
+		"beer.ledger.flush-interval-ms=3600000",
+		"beer.ledger.snapshot-interval-ms=3600000"})
+public class StockLedgerTest {
+	
+	@Autowired
+	private StockLedger stockLedger;
+	
+	@Autowired
+	private BeerService beerService;
+	
+	@SpyBean
+	private JdbcTemplate jdbcTemplate;
+	
+	private BeerDTO savedBeerDTO;
+	
+	@BeforeEach
+	void setUp() throws Exception {
+		BeerDTO beerDTO = BeerDTOBuilder.builder()
+				.id(null)
+				.name("Ledger Lager")
+				.max(500)
+				.quantity(10)
+				.build()
+				.toBeerDTO();
+		savedBeerDTO = beerService.createBeer(beerDTO);
+	}
+	
+	@AfterEach
+	void tearDown() throws Exception {
+		beerService.deleteById(savedBeerDTO.getId());
+	}
+	
+	@Test
+	void whenStockChangesAreFlushedThenHistoryIsPagedNewestFirst() throws Exception {
+		//given
+		beerService.increment(savedBeerDTO.getId(), 1);
+		beerService.increment(savedBeerDTO.getId(), 2);
+		beerService.increment(savedBeerDTO.getId(), 3);
+		
+		//when
+		stockLedger.flush();
+		Slice<StockMovementDTO> firstPage = stockLedger.history(savedBeerDTO.getId(), null, 2);
+		Long lastSeenId = firstPage.getContent().get(firstPage.getNumberOfElements() - 1).getId();
+		Slice<StockMovementDTO> secondPage = stockLedger.history(savedBeerDTO.getId(), lastSeenId, 2);
+		
+		//then
+		assertThat(deltas(firstPage.getContent()), contains(3, 2));
+		assertThat(firstPage.hasNext(), is(true));
+		assertThat(deltas(secondPage.getContent()), contains(1));
+		assertThat(secondPage.getContent().get(0).getQuantity(), equalTo(11));
+		assertThat(secondPage.hasNext(), is(false));
+	}
+	
+	@Test
+	void whenQuantityAtIsQueriedThenItIsTheQuantityLeftByTheLatestMovement() throws Exception {
+		//given
+		Instant beforeLedger = Instant.now();
+		Thread.sleep(5);
+		beerService.increment(savedBeerDTO.getId(), 5);
+		stockLedger.takeSnapshots();
+		Thread.sleep(5);
+		Instant afterSnapshot = Instant.now();
+		Thread.sleep(5);
+		beerService.increment(savedBeerDTO.getId(), 7);
+		
+		//when
+		stockLedger.flush();
+		
+		//then
+		assertThrows(BeerStockHistoryNotFoundException.class, () -> stockLedger.quantityAt(savedBeerDTO.getId(), beforeLedger));
+		assertThat(stockLedger.quantityAt(savedBeerDTO.getId(), afterSnapshot), equalTo(15));
+		assertThat(stockLedger.quantityAt(savedBeerDTO.getId(), Instant.now()), equalTo(22));
+		
+		stockLedger.takeSnapshots();
+		assertThat(stockLedger.quantityAt(savedBeerDTO.getId(), afterSnapshot), equalTo(15));
+		assertThat(stockLedger.quantityAt(savedBeerDTO.getId(), Instant.now()), equalTo(22));
+	}
+	
+	@Test
+	void whenMovementsBeforeASnapshotArePrunedThenTheSnapshotAnswers() throws Exception {
+		//given
+		beerService.increment(savedBeerDTO.getId(), 5);
+		stockLedger.takeSnapshots();
+		Thread.sleep(5);
+		Instant afterSnapshot = Instant.now();
+		
+		//when
+		jdbcTemplate.update("delete from stock_movement where beer_id = ?", savedBeerDTO.getId());
+		
+		//then
+		assertThat(stockLedger.quantityAt(savedBeerDTO.getId(), afterSnapshot), equalTo(15));
+	}
+	
+	@Test
+	void whenAnAppendFailsThenTheBatchIsRetriedOnTheNextFlush() throws Exception {
+		//given
+		doThrow(new DataAccessResourceFailureException("Ledger unavailable"))
+				.when(jdbcTemplate).batchUpdate(startsWith("insert into stock_movement"), any(BatchPreparedStatementSetter.class));
+		beerService.increment(savedBeerDTO.getId(), 4);
+		stockLedger.flush();
+		assertThat(stockLedger.history(savedBeerDTO.getId(), null, 10).getContent(), empty());
+		
+		//when
+		reset(jdbcTemplate);
+		stockLedger.flush();
+		
+		//then
+		assertThat(deltas(stockLedger.history(savedBeerDTO.getId(), null, 10).getContent()), contains(4));
+	}
+	
+	@Test
+	void whenLedgerShutsDownThenQueuedMovementsAreAppended() throws Exception {
+		//given
+		beerService.increment(savedBeerDTO.getId(), 6);
+		
+		//when
+		stockLedger.destroy();
+		
+		//then
+		assertThat(deltas(stockLedger.history(savedBeerDTO.getId(), null, 10).getContent()), contains(6));
+	}
+	
+	private List<Integer> deltas(List<StockMovementDTO> movements) {
+		return movements.stream()
+				.map(StockMovementDTO::getDelta)
+				.collect(Collectors.toList());
+	}
+
+}
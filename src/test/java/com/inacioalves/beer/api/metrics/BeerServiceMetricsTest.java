@@ -0,0 +1,99 @@
+package com.inacioalves.beer.api.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.inacioalves.beer.api.builder.BeerDTOBuilder;
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.enums.BeerType;
+import com.inacioalves.beer.api.exception.BeerNotFoundException;
+import com.inacioalves.beer.api.exception.BeerStockExceededException;
+import com.inacioalves.beer.api.service.BeerService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+public class BeerServiceMetricsTest {
+
+	@Autowired
+	private BeerService beerService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private BeerDTO savedBeerDTO;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		BeerDTO beerDTO = BeerDTOBuilder.builder()
+				.id(null)
+				.name("Metered Ipa")
+				.type(BeerType.IPA)
+				.build()
+				.toBeerDTO();
+		savedBeerDTO = beerService.createBeer(beerDTO);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		beerService.deleteById(savedBeerDTO.getId());
+	}
+
+	@Test
+	void whenServiceOperationSucceedsThenItIsTimedByBeerType() throws Exception {
+		beerService.increment(savedBeerDTO.getId(), 1);
+
+		long count = meterRegistry.get(BeerServiceMetricsAspect.OPERATION_TIMER)
+				.tags("operation", "increment", "type", "IPA", "outcome", "success")
+				.timer()
+				.count();
+
+		assertThat(count, greaterThanOrEqualTo(1L));
+	}
+
+	@Test
+	void whenServiceOperationIsRejectedThenRejectionIsCounted() {
+		double before = rejections("BeerStockExceededException");
+
+		assertThrows(BeerStockExceededException.class, () -> beerService.increment(savedBeerDTO.getId(), 1000));
+		assertThrows(BeerNotFoundException.class, () -> beerService.findByName("Unregistered Beer"));
+
+		assertThat(rejections("BeerStockExceededException"), equalTo(before + 1));
+		assertThat(meterRegistry.get(BeerServiceMetricsAspect.REJECTION_COUNTER)
+				.tags("exception", "BeerStockExceededException", "operation", "increment", "type", "IPA")
+				.counter()
+				.count(), greaterThanOrEqualTo(1.0));
+		assertThat(meterRegistry.get(BeerServiceMetricsAspect.REJECTION_COUNTER)
+				.tags("exception", "BeerNotFoundException", "operation", "findByName", "type", "none")
+				.counter()
+				.count(), greaterThanOrEqualTo(1.0));
+	}
+
+	@Test
+	void whenCatalogSizeIsReadThenItIsTaggedByBeerType() {
+		double ipaCount = meterRegistry.get(BeerCatalogMetrics.CATALOG_SIZE_GAUGE)
+				.tag("type", "IPA")
+				.gauge()
+				.value();
+
+		assertThat(ipaCount, greaterThanOrEqualTo(1.0));
+	}
+
+	private double rejections(String exception) {
+		return meterRegistry.find(BeerServiceMetricsAspect.REJECTION_COUNTER)
+				.tags("exception", exception, "operation", "increment")
+				.counters()
+				.stream()
+				.mapToDouble(counter -> counter.count())
+				.sum();
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.inacioalves.beer.api.ratelimit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = {
+		"beer.rate-limit.read.capacity=3",
+		"beer.rate-limit.read.tokens-per-second=0.001",
+		"beer.rate-limit.write.capacity=2",
+		"beer.rate-limit.write.tokens-per-second=0.001",
+		"beer.rate-limit.api-keys=storefront,integration"})
+@AutoConfigureMockMvc
+public class RateLimitInterceptorTest {
+	
+	private static final String BEER_API_URL_PATH = "/api/v1/beers";
+	private static final long INVALID_BEER_ID = 999_999L;
+	
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Autowired
+	private MeterRegistry meterRegistry;
+	
+	@MockBean
+	private ConnectionPoolLoadShedder connectionPoolLoadShedder;
+	
+	@Test
+	void whenWriteBudgetIsSpentThenTooManyRequestsWithRetryAfterIsReturned() throws Exception {
+		//given
+		double rejectedBefore = meterRegistry.counter(ClientRateLimiter.REJECTED_COUNTER, "budget", "write").count();
+		
+		//when
+		mockMvc.perform(delete("10.0.0.1")).andExpect(status().isNotFound());
+		mockMvc.perform(delete("10.0.0.1")).andExpect(status().isNotFound());
+		
+		//then
+		mockMvc.perform(delete("10.0.0.1"))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+		mockMvc.perform(get("10.0.0.1")).andExpect(status().isNotFound());
+		mockMvc.perform(delete("10.0.0.2")).andExpect(status().isNotFound());
+		assertThat(meterRegistry.counter(ClientRateLimiter.REJECTED_COUNTER, "budget", "write").count(), greaterThan(rejectedBefore));
+	}
+	
+	@Test
+	void whenApiKeyIsSentThenBudgetIsTrackedPerKey() throws Exception {
+		//when
+		for (int i = 0; i < 3; i++) {
+			mockMvc.perform(get("10.0.0.3").header("X-API-Key", "storefront")).andExpect(status().isNotFound());
+		}
+		
+		//then
+		mockMvc.perform(get("10.0.0.4").header("X-API-Key", "storefront")).andExpect(status().isTooManyRequests());
+		mockMvc.perform(get("10.0.0.4").header("X-API-Key", "integration")).andExpect(status().isNotFound());
+	}
+	
+	@Test
+	void whenUnknownApiKeysAreSentThenBudgetIsTrackedPerAddress() throws Exception {
+		//when
+		for (int i = 0; i < 3; i++) {
+			mockMvc.perform(get("10.0.0.6").header("X-API-Key", "forged-" + i)).andExpect(status().isNotFound());
+		}
+		
+		//then
+		mockMvc.perform(get("10.0.0.6").header("X-API-Key", "forged-3")).andExpect(status().isTooManyRequests());
+		mockMvc.perform(get("10.0.0.6")).andExpect(status().isTooManyRequests());
+	}
+	
+	@Test
+	void whenConnectionPoolIsSaturatedThenServiceUnavailableIsReturned() throws Exception {
+		//when
+		when(connectionPoolLoadShedder.shouldShed()).thenReturn(true);
+		
+		//then
+		mockMvc.perform(get("10.0.0.5"))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+	}
+	
+	private MockHttpServletRequestBuilder get(String remoteAddress) {
+		return withRemoteAddress(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/Unknown Beer"), remoteAddress);
+	}
+	
+	private MockHttpServletRequestBuilder delete(String remoteAddress) {
+		return withRemoteAddress(MockMvcRequestBuilders.delete(BEER_API_URL_PATH + "/" + INVALID_BEER_ID), remoteAddress);
+	}
+	
+	private MockHttpServletRequestBuilder withRemoteAddress(MockHttpServletRequestBuilder request, String remoteAddress) {
+		return request.with(servletRequest -> {
+			servletRequest.setRemoteAddr(remoteAddress);
+			return servletRequest;
+		});
+	}
+
+}
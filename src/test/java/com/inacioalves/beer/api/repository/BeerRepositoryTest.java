@@ -0,0 +1,116 @@
+package com.inacioalves.beer.api.repository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.inacioalves.beer.api.builder.BeerDTOBuilder;
+import com.inacioalves.beer.api.dto.BeerFilterDTO;
+import com.inacioalves.beer.api.dto.StockAdjustmentDTO;
+import com.inacioalves.beer.api.entity.Beer;
+import com.inacioalves.beer.api.enums.BeerType;
+import com.inacioalves.beer.api.mapper.BeerMapper;
+
+@DataJpaTest
+public class BeerRepositoryTest {
+	
+	private static final long INVALID_BEER_ID = 999_999L;
+	
+	@Autowired
+	private BeerRepository beerRepository;
+	
+	private BeerMapper beerMapper = BeerMapper.INSTACE;
+	
+	private Beer savedBeer;
+	
+	@BeforeEach
+	void setUp() {
+		Beer beer = beerMapper.toModel(BeerDTOBuilder.builder().id(null).build().toBeerDTO());
+		savedBeer = beerRepository.saveAndFlush(beer);
+	}
+	
+	@Test
+	void whenIncrementFitsMaxThenQuantityIsUpdated() {
+		int incrementedRows = beerRepository.incrementQuantity(savedBeer.getId(), 40);
+		
+		assertThat(incrementedRows, equalTo(1));
+		assertThat(beerRepository.findById(savedBeer.getId()).get().getQuantity(), equalTo(50));
+		assertThat(beerRepository.findById(savedBeer.getId()).get().getVersion(), equalTo(savedBeer.getVersion() + 1));
+	}
+	
+	@Test
+	void whenIncrementExceedsMaxThenNoRowIsUpdated() {
+		int incrementedRows = beerRepository.incrementQuantity(savedBeer.getId(), 41);
+		
+		assertThat(incrementedRows, equalTo(0));
+		assertThat(beerRepository.findById(savedBeer.getId()).get().getQuantity(), equalTo(10));
+	}
+	
+	@Test
+	void whenAdjustmentsAreInformedThenOnlyTheOnesWithinBoundsAreApplied() {
+		int[] adjustedRows = beerRepository.adjustQuantities(Arrays.asList(
+				new StockAdjustmentDTO(savedBeer.getId(), 30),
+				new StockAdjustmentDTO(savedBeer.getId(), 11),
+				new StockAdjustmentDTO(savedBeer.getId(), -41),
+				new StockAdjustmentDTO(savedBeer.getId(), -40),
+				new StockAdjustmentDTO(INVALID_BEER_ID, 1)));
+		
+		assertThat(adjustedRows[0], equalTo(1));
+		assertThat(adjustedRows[1], equalTo(0));
+		assertThat(adjustedRows[2], equalTo(0));
+		assertThat(adjustedRows[3], equalTo(1));
+		assertThat(adjustedRows[4], equalTo(0));
+		assertThat(beerRepository.findById(savedBeer.getId()).get().getQuantity(), equalTo(0));
+		assertThat(beerRepository.findById(savedBeer.getId()).get().getVersion(), equalTo(savedBeer.getVersion() + 2));
+	}
+	
+	@Test
+	void whenBeerIsSavedThenItIsFoundByCaseInsensitivePrefix() {
+		Pageable topResults = PageRequest.of(0, 10);
+		
+		assertThat(beerRepository.findBySearchNameStartingWithOrderBySearchName("smir", topResults), contains(savedBeer));
+		assertThat(beerRepository.findBySearchBrandStartingWithOrderBySearchBrandAscSearchNameAsc("bac", topResults), contains(savedBeer));
+		assertThat(beerRepository.findBySearchNameStartingWithOrderBySearchName("bac", topResults), is(empty()));
+	}
+	
+	@Test
+	void whenFilterIsInformedThenOnlyMatchingBeersAreReturned() {
+		Beer emptyIpa = beerMapper.toModel(BeerDTOBuilder.builder().id(null).name("Empty Ipa").brand("Colorado").quantity(2).type(BeerType.IPA).build().toBeerDTO());
+		beerRepository.saveAndFlush(emptyIpa);
+		Pageable firstPage = PageRequest.of(0, 10, Sort.by("id"));
+		
+		BeerFilterDTO lowStockIpas = BeerFilterDTO.builder().type(BeerType.IPA).maxFillRatio(0.1).build();
+		BeerFilterDTO brandBeers = BeerFilterDTO.builder().brand("BACARDI").minQuantity(10).build();
+		
+		assertThat(beerRepository.findSlice(BeerSpecifications.matching(lowStockIpas), firstPage).getContent(), contains(emptyIpa));
+		assertThat(beerRepository.findSlice(BeerSpecifications.matching(brandBeers), firstPage).getContent(), contains(savedBeer));
+	}
+	
+	@Test
+	void whenFieldsAreInformedThenOnlyTheseColumnsAreReturned() {
+		Pageable firstPage = PageRequest.of(0, 10, Sort.by("id"));
+		
+		Map<String, Object> beerFields = beerRepository
+				.findFieldSlice(BeerSpecifications.hasName(savedBeer.getName()), firstPage, Arrays.asList("name", "quantity"))
+				.getContent()
+				.get(0);
+		
+		assertThat(beerFields.keySet(), contains("name", "quantity"));
+		assertThat(beerFields.get("name"), equalTo(savedBeer.getName()));
+		assertThat(beerFields.get("quantity"), equalTo(savedBeer.getQuantity()));
+	}
+
+}
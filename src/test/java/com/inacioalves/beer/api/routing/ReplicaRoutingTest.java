@@ -0,0 +1,190 @@
+package com.inacioalves.beer.api.routing;
+
+import static com.inacioalves.beer.api.utils.JsonConvertionUtils.asJsonString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.inacioalves.beer.api.builder.BeerDTOBuilder;
+import com.inacioalves.beer.api.config.CacheConfig;
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.dto.QuantityDTO;
+import com.inacioalves.beer.api.exception.BeerNotFoundException;
+import com.inacioalves.beer.api.service.BeerService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+		"beer.replica.enabled=true",
+		"beer.replica.url=" + ReplicaRoutingTest.REPLICA_URL})
+@AutoConfigureMockMvc
+public class ReplicaRoutingTest {
+	
+	static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+	static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1;"
+			+ "INIT=RUNSCRIPT FROM 'classpath:replica-schema.sql'";
+	
+	private static final String BEER_API_URL_PATH = "/api/v1/beers";
+	private static final String API_KEY_HEADER = "X-API-Key";
+	
+	@Autowired
+	private BeerService beerService;
+	
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Autowired
+	private MeterRegistry meterRegistry;
+	
+	@Autowired
+	private CacheManager cacheManager;
+	
+	private final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+	
+	private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+	
+	@AfterEach
+	void tearDown() {
+		primary.update("DELETE FROM BEER");
+		replica.update("DELETE FROM BEER");
+	}
+	
+	@Test
+	void whenReadOnlyServiceMethodIsCalledThenReplicaIsRead() throws Exception {
+		//given
+		insertBeer(primary, 1L, "Primary Only Lager");
+		insertBeer(replica, 2L, "Replica Only Stout");
+		double replicaRoutedBefore = routed("replica");
+		
+		//when
+		List<BeerDTO> foundBeers = beerService.search("replica", 10);
+		
+		//then
+		assertThat(foundBeers.size(), equalTo(1));
+		assertThat(foundBeers.get(0).getName(), equalTo("Replica Only Stout"));
+		assertThrows(BeerNotFoundException.class, () -> beerService.findFieldsByName("Primary Only Lager", List.of("name")));
+		assertThat(routed("replica"), greaterThan(replicaRoutedBefore));
+	}
+	
+	@Test
+	void whenNameIsLookedUpOrCatalogIsListedThenReplicaIsRead() throws Exception {
+		//given
+		insertBeer(primary, 1L, "Primary Only Lager");
+		insertBeer(replica, 2L, "Replica Only Stout");
+		
+		//when
+		List<BeerDTO> listedBeers = beerService.listAll(PageRequest.of(0, 10)).getContent();
+		BeerDTO foundBeer = beerService.findByName("Replica Only Stout");
+		
+		//then
+		assertThat(listedBeers.size(), equalTo(1));
+		assertThat(listedBeers.get(0).getName(), equalTo("Replica Only Stout"));
+		assertThat(foundBeer.getId(), equalTo(2L));
+		assertThrows(BeerNotFoundException.class, () -> beerService.findByName("Primary Only Lager"));
+	}
+	
+	@Test
+	void whenReplicaLagsBehindAWriteThenTheStaleRowIsNeitherCachedNorTagged() throws Exception {
+		//given
+		insertBeer(primary, 1L, "Lagging-Lager");
+		insertBeer(replica, 1L, "Lagging-Lager");
+		mockMvc.perform(MockMvcRequestBuilders.patch(BEER_API_URL_PATH + "/1/increment")
+				.header(API_KEY_HEADER, "writer")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(asJsonString(QuantityDTO.builder().quantity(1).build())))
+				.andExpect(status().isOk());
+		
+		//then
+		mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/Lagging-Lager")
+				.header(API_KEY_HEADER, "reader"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.quantity", is(5)))
+				.andExpect(header().doesNotExist(HttpHeaders.ETAG));
+		mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH)
+				.header(API_KEY_HEADER, "reader"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.ETAG));
+		assertThat(cacheManager.getCache(CacheConfig.BEERS_BY_NAME_CACHE).get("Lagging-Lager"), nullValue());
+		
+		//when
+		replica.update("UPDATE BEER SET QUANTITY = 6, VERSION = 1 WHERE ID = 1");
+		
+		//then
+		mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/Lagging-Lager")
+				.header(API_KEY_HEADER, "reader"))
+				.andExpect(jsonPath("$.quantity", is(6)))
+				.andExpect(header().exists(HttpHeaders.ETAG));
+		mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH)
+				.header(API_KEY_HEADER, "reader"))
+				.andExpect(header().exists(HttpHeaders.ETAG));
+	}
+	
+	@Test
+	void whenClientHasJustWrittenThenItsReadsStayOnPrimary() throws Exception {
+		//given
+		BeerDTO beerDTO = beerDTO("Sticky Pilsen");
+		double stickyBefore = meterRegistry.counter(ReplicaRoutingDataSource.STICKY_COUNTER).count();
+		mockMvc.perform(MockMvcRequestBuilders.post(BEER_API_URL_PATH)
+				.header(API_KEY_HEADER, "writer")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(asJsonString(beerDTO)))
+				.andExpect(status().isCreated());
+		
+		//then
+		mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/" + beerDTO.getName())
+				.param("fields", "name")
+				.header(API_KEY_HEADER, "reader"))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(MockMvcRequestBuilders.get(BEER_API_URL_PATH + "/" + beerDTO.getName())
+				.param("fields", "name")
+				.header(API_KEY_HEADER, "writer"))
+				.andExpect(status().isOk());
+		assertThat(meterRegistry.counter(ReplicaRoutingDataSource.STICKY_COUNTER).count(), greaterThan(stickyBefore));
+	}
+	
+	@Test
+	void whenReplicaIsEnabledThenEachPoolPublishesItsOwnMetrics() {
+		assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "beer-primary").gauge().value(), greaterThan(0.0));
+		assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "beer-replica").gauge().value(), greaterThan(0.0));
+	}
+	
+	private void insertBeer(JdbcTemplate database, Long id, String name) {
+		database.update("INSERT INTO BEER (ID, NAME, SEARCH_NAME, BRAND, SEARCH_BRAND, MAX, QUANTITY, TYPE, VERSION) "
+				+ "VALUES (?, ?, ?, 'Routing', 'routing', 50, 5, 'STOUT', 0)", id, name, name.toLowerCase());
+	}
+	
+	private double routed(String pool) {
+		return meterRegistry.counter(ReplicaRoutingDataSource.ROUTED_COUNTER, "pool", pool).count();
+	}
+	
+	private BeerDTO beerDTO(String name) {
+		BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+		beerDTO.setId(null);
+		beerDTO.setName(name);
+		return beerDTO;
+	}
+
+}
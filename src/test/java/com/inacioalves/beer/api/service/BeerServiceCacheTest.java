@@ -0,0 +1,112 @@
+package com.inacioalves.beer.api.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import com.inacioalves.beer.api.builder.BeerDTOBuilder;
+import com.inacioalves.beer.api.config.CacheConfig;
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.dto.StockAdjustmentDTO;
+import com.inacioalves.beer.api.exception.BeerNotFoundException;
+import com.inacioalves.beer.api.mapper.BeerMapper;
+import com.inacioalves.beer.api.repository.BeerRepository;
+
+@SpringBootTest
+public class BeerServiceCacheTest {
+
+	@Autowired
+	private BeerService beerService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private BeerRepository beerRepository;
+
+	private BeerDTO savedBeerDTO;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		BeerDTO beerDTO = BeerDTOBuilder.builder()
+				.id(null)
+				.name("Cached Stout")
+				.build()
+				.toBeerDTO();
+		savedBeerDTO = beerService.createBeer(beerDTO);
+	}
+
+	@AfterEach
+	void tearDown() {
+		try {
+			beerService.deleteById(savedBeerDTO.getId());
+		} catch (BeerNotFoundException e) {
+			// already deleted by the test
+		}
+	}
+
+	@Test
+	void whenBeerIsFoundByNameThenItIsServedFromTheCache() throws Exception {
+		beerService.findByName(savedBeerDTO.getName());
+
+		assertThat(beersByName().get(savedBeerDTO.getName()), notNullValue());
+	}
+
+	@Test
+	void whenBeerIsIncrementedThenCachedQuantityIsRefreshed() throws Exception {
+		beerService.findByName(savedBeerDTO.getName());
+
+		beerService.increment(savedBeerDTO.getId(), 5);
+
+		assertThat(beerService.findByName(savedBeerDTO.getName()).getQuantity(), equalTo(savedBeerDTO.getQuantity() + 5));
+	}
+
+	@Test
+	void whenReaderPutsARowLoadedBeforeAWriteThenTheStaleRowIsNotCached() throws Exception {
+		BeerDTO loadedBeforeWrite = beerRepository.findByName(savedBeerDTO.getName())
+				.map(BeerMapper.INSTACE::toDTO)
+				.get();
+
+		beerService.increment(savedBeerDTO.getId(), 5);
+		beersByName().put(savedBeerDTO.getName(), loadedBeforeWrite);
+
+		assertThat(beersByName().get(savedBeerDTO.getName()), nullValue());
+		assertThat(beerService.findByName(savedBeerDTO.getName()).getQuantity(), equalTo(savedBeerDTO.getQuantity() + 5));
+	}
+
+	@Test
+	void whenStockIsAdjustedThenCachedBeerIsEvicted() throws Exception {
+		beerService.findByName(savedBeerDTO.getName());
+
+		beerService.adjustStock(Collections.singletonList(new StockAdjustmentDTO(savedBeerDTO.getId(), -3)), true);
+
+		assertThat(beersByName().get(savedBeerDTO.getName()), nullValue());
+		assertThat(beerService.findByName(savedBeerDTO.getName()).getQuantity(), equalTo(savedBeerDTO.getQuantity() - 3));
+	}
+
+	@Test
+	void whenBeerIsDeletedThenItIsNoLongerFoundByName() throws Exception {
+		beerService.findByName(savedBeerDTO.getName());
+
+		beerService.deleteById(savedBeerDTO.getId());
+
+		assertThrows(BeerNotFoundException.class, () -> beerService.findByName(savedBeerDTO.getName()));
+	}
+
+	private Cache beersByName() {
+		return cacheManager.getCache(CacheConfig.BEERS_BY_NAME_CACHE);
+	}
+
+}
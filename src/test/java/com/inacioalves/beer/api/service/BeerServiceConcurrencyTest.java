@@ -0,0 +1,129 @@
+package com.inacioalves.beer.api.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.inacioalves.beer.api.builder.BeerDTOBuilder;
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.exception.BeerStockExceededException;
+
+@SpringBootTest
+public class BeerServiceConcurrencyTest {
+
+	private static final int THREADS = 16;
+	private static final int INCREMENTS_PER_THREAD = 25;
+	private static final int CONTENTION_THREADS = 64;
+
+	@Autowired
+	private BeerService beerService;
+
+	private BeerDTO savedBeerDTO;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		BeerDTO beerDTO = BeerDTOBuilder.builder()
+				.id(null)
+				.name("Concurrency Lager")
+				.max(500)
+				.quantity(0)
+				.build()
+				.toBeerDTO();
+		savedBeerDTO = beerService.createBeer(beerDTO);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		beerService.deleteById(savedBeerDTO.getId());
+	}
+
+	@Test
+	void whenIncrementIsCalledConcurrentlyThenNoIncrementIsLost() throws Exception {
+		//when
+		AtomicInteger rejected = runConcurrentIncrements(THREADS, THREADS * INCREMENTS_PER_THREAD);
+
+		//then
+		BeerDTO incrementedBeerDTO = beerService.findByName(savedBeerDTO.getName());
+
+		assertThat(rejected.get(), equalTo(0));
+		assertThat(incrementedBeerDTO.getQuantity(), equalTo(THREADS * INCREMENTS_PER_THREAD));
+	}
+
+	@Test
+	void whenConcurrentIncrementsExceedMaxThenOnlyTheOverflowIsRejected() throws Exception {
+		//when
+		int attempts = savedBeerDTO.getMax() + 100;
+		AtomicInteger rejected = runConcurrentIncrements(THREADS, attempts);
+
+		//then
+		BeerDTO incrementedBeerDTO = beerService.findByName(savedBeerDTO.getName());
+
+		assertThat(rejected.get(), equalTo(100));
+		assertThat(incrementedBeerDTO.getQuantity(), equalTo(savedBeerDTO.getMax()));
+	}
+
+	@Test
+	void whenManyThreadsContendOnOneBeerThenEveryIncrementIsAppliedOnce() throws Exception {
+		//given
+		int attempts = savedBeerDTO.getMax();
+
+		//when
+		AtomicInteger rejected = runConcurrentIncrements(CONTENTION_THREADS, attempts);
+
+		//then
+		BeerDTO incrementedBeerDTO = beerService.findByName(savedBeerDTO.getName());
+
+		assertThat(rejected.get(), equalTo(0));
+		assertThat(incrementedBeerDTO.getQuantity(), equalTo(attempts));
+		assertThat(incrementedBeerDTO.getVersion(), equalTo(savedBeerDTO.getVersion() + attempts));
+	}
+
+	private AtomicInteger runConcurrentIncrements(int threads, int attempts) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger rejected = new AtomicInteger();
+
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int i = 0; i < attempts; i++) {
+			tasks.add(() -> {
+				start.await();
+				try {
+					beerService.increment(savedBeerDTO.getId(), 1);
+				} catch (BeerStockExceededException e) {
+					rejected.incrementAndGet();
+				}
+				return null;
+			});
+		}
+
+		try {
+			List<Future<Void>> futures = new ArrayList<>();
+			for (Callable<Void> task : tasks) {
+				futures.add(executor.submit(task));
+			}
+			start.countDown();
+			for (Future<Void> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return rejected;
+	}
+
+}
@@ -10,24 +10,54 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.inacioalves.beer.api.builder.BeerDTOBuilder;
+import com.inacioalves.beer.api.dto.BeerBatchResultDTO;
 import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.dto.BeerFilterDTO;
+import com.inacioalves.beer.api.dto.StockAdjustmentDTO;
+import com.inacioalves.beer.api.dto.StockAdjustmentResultDTO;
 import com.inacioalves.beer.api.entity.Beer;
+import com.inacioalves.beer.api.event.StockChangedEvent;
+import com.inacioalves.beer.api.enums.BeerBatchStatus;
+import com.inacioalves.beer.api.enums.BeerType;
+import com.inacioalves.beer.api.enums.StockAdjustmentStatus;
 import com.inacioalves.beer.api.exception.BeerAlreadyRegisteredException;
+import com.inacioalves.beer.api.exception.BeerFieldNotSupportedException;
 import com.inacioalves.beer.api.exception.BeerNotFoundException;
 import com.inacioalves.beer.api.exception.BeerStockExceededException;
+import com.inacioalves.beer.api.exception.BeerStockInsufficientException;
 import com.inacioalves.beer.api.mapper.BeerMapper;
 import com.inacioalves.beer.api.repository.BeerRepository;
+import com.inacioalves.beer.api.stock.StockWriteBehindBuffer;
 
 @ExtendWith(MockitoExtension.class)
 public class BeersServiceTest {
@@ -38,6 +68,21 @@ public class BeersServiceTest {
 	@Mock
 	private BeerRepository beerRepository;
 	
+	@Mock
+	private EntityManager entityManager;
+	
+	@Mock
+	private CacheManager cacheManager;
+	
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private StockWriteBehindBuffer stockWriteBehindBuffer;
+	
+	@Spy
+	private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+	
 	private BeerMapper beerMapper = BeerMapper.INSTACE;
 	
 	@InjectMocks
@@ -84,6 +129,31 @@ public class BeersServiceTest {
 	}
 	
 	
+	@Test
+	void whenBeerListIsInformedThenEachBeerGetsItsOwnResult() {
+		//given
+		BeerDTO newBeerDTO = BeerDTOBuilder.builder().name("Heineken").build().toBeerDTO();
+		BeerDTO registeredBeerDTO = BeerDTOBuilder.builder().name("Stella").build().toBeerDTO();
+		BeerDTO duplicatedBeerDTO = BeerDTOBuilder.builder().name("Heineken").build().toBeerDTO();
+		Beer savedBeer = beerMapper.toModel(newBeerDTO);
+		
+		//when
+		when(beerRepository.findNamesIn(Mockito.anyCollection())).thenReturn(Collections.singletonList("Stella"));
+		when(beerRepository.saveAll(Mockito.anyList())).thenReturn(Collections.singletonList(savedBeer));
+		
+		//then
+		List<BeerBatchResultDTO> results = beerService.createBeers(Arrays.asList(newBeerDTO, registeredBeerDTO, duplicatedBeerDTO));
+		
+		assertThat(results.get(0).getStatus(), is(equalTo(BeerBatchStatus.CREATED)));
+		assertThat(results.get(0).getBeer(), is(equalTo(newBeerDTO)));
+		assertThat(results.get(1).getStatus(), is(equalTo(BeerBatchStatus.ALREADY_REGISTERED)));
+		assertThat(results.get(2).getStatus(), is(equalTo(BeerBatchStatus.DUPLICATED_IN_REQUEST)));
+		assertThat(results.get(2).getIndex(), is(equalTo(2)));
+		verify(beerRepository,times(1)).findNamesIn(Mockito.anyCollection());
+		verify(beerRepository,never()).findByName(Mockito.anyString());
+	}
+	
+	
 	@Test
 	void whenValidBeerNameIsGivenThenReturnABeer() throws BeerNotFoundException {
 		//given
@@ -119,32 +189,152 @@ public class BeersServiceTest {
 		//given
 		BeerDTO expectedFoundBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
 		Beer expectedFoundBeer = beerMapper.toModel(expectedFoundBeerDTO);
+		Pageable pageable = PageRequest.of(0, 20);
 		
 		
 		//when
-		when(beerRepository.findAll()).thenReturn(Collections.singletonList(expectedFoundBeer));
+		when(beerRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(Collections.singletonList(expectedFoundBeer), pageable, false));
 		
 	
 		//then
-		List<BeerDTO> foundListBeersDTO = beerService.listAll();
+		Slice<BeerDTO> foundListBeersDTO = beerService.listAll(pageable);
 		
-		assertThat(foundListBeersDTO, is(not(empty())));
-		assertThat(foundListBeersDTO.get(0),is(equalTo(expectedFoundBeerDTO)));
+		assertThat(foundListBeersDTO.getContent(), is(not(empty())));
+		assertThat(foundListBeersDTO.getContent().get(0),is(equalTo(expectedFoundBeerDTO)));
 		
 		
 	}
 	
 	@Test
 	void whenListBeerIsCalledThenReturnAnEmptyListOfBeers() {
+		//given
+		Pageable pageable = PageRequest.of(0, 20);
+		
 		//when
-		when(beerRepository.findAll()).thenReturn(Collections.emptyList());
+		when(beerRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(Collections.emptyList(), pageable, false));
 		
 		//then
-		List<BeerDTO> foundListBeersDTO= beerService.listAll();
+		Slice<BeerDTO> foundListBeersDTO= beerService.listAll(pageable);
+		
+		assertThat(foundListBeersDTO.getContent(), is(empty()));
+		
+		
+	}
+	
+	@Test
+	void whenListBeerIsCalledWithOversizedPageThenPageSizeIsCapped() {
+		//given
+		Pageable oversizedPageable = PageRequest.of(2, 10_000, Sort.by("name"));
+		Pageable cappedPageable = PageRequest.of(2, BeerService.MAX_PAGE_SIZE, Sort.by("name"));
 		
-		assertThat(foundListBeersDTO, is(empty()));
+		//when
+		when(beerRepository.findAllBy(cappedPageable)).thenReturn(new SliceImpl<>(Collections.emptyList(), cappedPageable, false));
 		
+		//then
+		beerService.listAll(oversizedPageable);
 		
+		verify(beerRepository,times(1)).findAllBy(cappedPageable);
+	}
+	
+	@Test
+	void whenListAfterIsCalledThenReturnTheNextBeersById() {
+		//given
+		BeerDTO expectedFoundBeerDTO = BeerDTOBuilder.builder().id(11L).build().toBeerDTO();
+		Beer expectedFoundBeer = beerMapper.toModel(expectedFoundBeerDTO);
+		Pageable firstPageById = PageRequest.of(0, 20, Sort.by("id"));
+		
+		//when
+		when(beerRepository.findByIdGreaterThan(10L, firstPageById)).thenReturn(new SliceImpl<>(Collections.singletonList(expectedFoundBeer), firstPageById, true));
+		
+		//then
+		Slice<BeerDTO> foundListBeersDTO = beerService.listAfter(10L, 20);
+		
+		assertThat(foundListBeersDTO.getContent().get(0), is(equalTo(expectedFoundBeerDTO)));
+		assertThat(foundListBeersDTO.hasNext(), is(true));
+	}
+	
+	@Test
+	void whenListMatchingIsCalledWithAfterIdThenFirstPageByIdIsRequested() {
+		//given
+		BeerDTO expectedFoundBeerDTO = BeerDTOBuilder.builder().id(11L).build().toBeerDTO();
+		Beer expectedFoundBeer = beerMapper.toModel(expectedFoundBeerDTO);
+		BeerFilterDTO filter = BeerFilterDTO.builder().type(BeerType.ALE).build();
+		Pageable firstPageById = PageRequest.of(0, 20, Sort.by("id"));
+		
+		//when
+		when(beerRepository.findSlice(Mockito.<Specification<Beer>>any(), Mockito.eq(firstPageById))).thenReturn(new SliceImpl<>(Collections.singletonList(expectedFoundBeer), firstPageById, false));
+		
+		//then
+		Slice<BeerDTO> foundListBeersDTO = beerService.listMatching(filter, 10L, PageRequest.of(3, 20, Sort.by("name")));
+		
+		assertThat(foundListBeersDTO.getContent(), contains(expectedFoundBeerDTO));
+		assertThat(foundListBeersDTO.hasNext(), is(false));
+	}
+	
+	@Test
+	void whenFieldsAreInformedThenOnlySupportedFieldsAreProjected() throws Exception {
+		//given
+		Map<String, Object> expectedBeerFields = Map.of("name", "Smirnoff");
+		Pageable firstPage = PageRequest.of(0, 1);
+		
+		//when
+		when(beerRepository.findFieldSlice(Mockito.<Specification<Beer>>any(), Mockito.eq(firstPage), Mockito.eq(Arrays.asList("name", "quantity"))))
+				.thenReturn(new SliceImpl<>(Collections.singletonList(expectedBeerFields), firstPage, false));
+		
+		//then
+		Map<String, Object> foundBeerFields = beerService.findFieldsByName("Smirnoff", Arrays.asList("name", " quantity", "name"));
+		
+		assertThat(foundBeerFields, is(equalTo(expectedBeerFields)));
+	}
+	
+	@Test
+	void whenUnsupportedFieldIsInformedThenAnExceptionShouldBeThrown() {
+		assertThrows(BeerFieldNotSupportedException.class, () -> beerService.findFieldsByName("Smirnoff", Arrays.asList("name", "searchName")));
+		verifyNoInteractions(beerRepository);
+	}
+	
+	@Test
+	void whenSearchIsCalledThenNameMatchesAreRankedBeforeBrandMatches() {
+		//given
+		Beer exactNameMatch = searchableBeer(1L, "Ale", "Bacardi");
+		Beer nameMatch = searchableBeer(2L, "Ale Gold", "Bacardi");
+		Beer brandMatch = searchableBeer(3L, "Stout", "Alesmith");
+		Pageable topResults = PageRequest.of(0, 10);
+		
+		//when
+		when(beerRepository.findBySearchNameStartingWithOrderBySearchName("ale", topResults)).thenReturn(Arrays.asList(nameMatch, exactNameMatch));
+		when(beerRepository.findBySearchBrandStartingWithOrderBySearchBrandAscSearchNameAsc("ale", topResults)).thenReturn(Collections.singletonList(brandMatch));
+		
+		//then
+		List<BeerDTO> foundBeersDTO = beerService.search(" ALE", 10);
+		
+		assertThat(foundBeersDTO.stream().map(BeerDTO::getId).collect(Collectors.toList()), contains(1L, 2L, 3L));
+	}
+	
+	@Test
+	void whenSearchIsCalledWithBlankQueryThenNoQueryIsExecuted() {
+		//then
+		List<BeerDTO> foundBeersDTO = beerService.search("  ", 10);
+		
+		assertThat(foundBeersDTO, is(empty()));
+		verifyNoInteractions(beerRepository);
+	}
+	
+	@Test
+	void whenExportIsCalledThenEveryBeerIsStreamedAndDetached() {
+		//given
+		BeerDTO expectedExportedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+		Beer expectedExportedBeer = beerMapper.toModel(expectedExportedBeerDTO);
+		List<BeerDTO> exportedBeersDTO = new ArrayList<>();
+		
+		//when
+		when(beerRepository.streamAllBy()).thenReturn(Stream.of(expectedExportedBeer));
+		
+		//then
+		beerService.exportAll(exportedBeersDTO::add);
+		
+		assertThat(exportedBeersDTO, contains(expectedExportedBeerDTO));
+		verify(entityManager,times(1)).detach(expectedExportedBeer);
 	}
 	
 	@Test
@@ -174,21 +364,58 @@ public class BeersServiceTest {
 		BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
 		Beer expecteddBeer = beerMapper.toModel(expectedBeerDTO);
 		
+		int quantityToIncrement=10;
+		int expctendQuantityAfterIncrement= expectedBeerDTO.getQuantity() + quantityToIncrement;
+		expecteddBeer.setQuantity(expctendQuantityAfterIncrement);
 		
 		//when
+		when(beerRepository.incrementQuantity(expectedBeerDTO.getId(), quantityToIncrement)).thenReturn(1);
 		when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expecteddBeer));
-		when(beerRepository.save(expecteddBeer)).thenReturn(expecteddBeer);
-		
-		int quantityToIncrement=10;
-		int expctendQuantityAfterIncrement= expectedBeerDTO.getQuantity() + quantityToIncrement;
 		
 		//then
 		BeerDTO icrementdBeerDTO = beerService.increment(expectedBeerDTO.getId(), quantityToIncrement);
 		
 		assertThat(expctendQuantityAfterIncrement, equalTo(icrementdBeerDTO.getQuantity()));
 		assertThat(expctendQuantityAfterIncrement, lessThan(expectedBeerDTO.getMax()));
+		verify(beerRepository, never()).save(Mockito.any(Beer.class));
+		verify(eventPublisher, times(1)).publishEvent(new StockChangedEvent(expectedBeerDTO.getId(), expectedBeerDTO.getName(),
+				expectedBeerDTO.getType(), expectedBeerDTO.getQuantity(), expctendQuantityAfterIncrement, expectedBeerDTO.getMax(), 0L));
+	}
+	
+	
+	@Test
+	void whenWriteBehindIsEnabledThenIncrementIsBuffered() throws BeerStockExceededException, BeerNotFoundException {
+		//given
+		BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+		
+		//when
+		when(stockWriteBehindBuffer.isEnabled()).thenReturn(true);
+		when(stockWriteBehindBuffer.increment(expectedBeerDTO.getId(), 10)).thenReturn(Optional.of(expectedBeerDTO));
+		
+		//then
+		BeerDTO incrementedBeerDTO = beerService.increment(expectedBeerDTO.getId(), 10);
+		
+		assertThat(incrementedBeerDTO, is(equalTo(expectedBeerDTO)));
+		verify(beerRepository, never()).incrementQuantity(expectedBeerDTO.getId(), 10);
 	}
 	
+	@Test
+	void whenWriteBehindHoldsTheBeerThenIncrementIsWrittenDirectly() throws BeerStockExceededException, BeerNotFoundException {
+		//given
+		BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+		Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
+		
+		//when
+		when(stockWriteBehindBuffer.isEnabled()).thenReturn(true);
+		when(stockWriteBehindBuffer.increment(expectedBeerDTO.getId(), 10)).thenReturn(Optional.empty());
+		when(beerRepository.incrementQuantity(expectedBeerDTO.getId(), 10)).thenReturn(1);
+		when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+		
+		//then
+		beerService.increment(expectedBeerDTO.getId(), 10);
+		
+		verify(beerRepository, times(1)).incrementQuantity(expectedBeerDTO.getId(), 10);
+	}
 	
 	@Test
 	void whenIncrementIsGreatherThanMaxThenThrowException() {
@@ -196,11 +423,12 @@ public class BeersServiceTest {
 		BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
 		Beer expecteddBeer = beerMapper.toModel(expectedBeerDTO);
 		
+		int quantityToIncrement=80;
+		
 		//when
+		when(beerRepository.incrementQuantity(expectedBeerDTO.getId(), quantityToIncrement)).thenReturn(0);
 		when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expecteddBeer));
 		
-		int quantityToIncrement=80;
-		
 		assertThrows(BeerStockExceededException.class, ()-> beerService.increment(expectedBeerDTO.getId(), quantityToIncrement));
 		
 	
@@ -213,18 +441,78 @@ public class BeersServiceTest {
 		//given
 		BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
 		Beer expecteddBeer = beerMapper.toModel(expectedBeerDTO);
+		
+		int quantityToIncrement=45;
 				
 		//when
+		when(beerRepository.incrementQuantity(expectedBeerDTO.getId(), quantityToIncrement)).thenReturn(0);
 		when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expecteddBeer));
 		
-		int quantityToIncrement=45;
-		
 		assertThrows(BeerStockExceededException.class, ()-> beerService.increment(expectedBeerDTO.getId(), quantityToIncrement));
 		
 	}
 	
+	@Test
+	void whenIncrementIsCalledWithInvalidIdThenThrowException() {
+		
+		int quantityToIncrement=10;
+		
+		//when
+		when(beerRepository.incrementQuantity(INVALID_BEER_ID, quantityToIncrement)).thenReturn(0);
+		when(beerRepository.findById(INVALID_BEER_ID)).thenReturn(Optional.empty());
+		
+		assertThrows(BeerNotFoundException.class, ()-> beerService.increment(INVALID_BEER_ID, quantityToIncrement));
+		
+	}
 	
+	@Test
+	void whenStockAdjustmentsAreInformedThenEachAdjustmentGetsItsOwnResult() throws Exception {
+		//given
+		BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+		Beer expecteddBeer = beerMapper.toModel(expectedBeerDTO);
+		List<StockAdjustmentDTO> adjustments = Arrays.asList(
+				new StockAdjustmentDTO(expectedBeerDTO.getId(), 5),
+				new StockAdjustmentDTO(expectedBeerDTO.getId(), 100),
+				new StockAdjustmentDTO(expectedBeerDTO.getId(), -100),
+				new StockAdjustmentDTO(INVALID_BEER_ID + 1, 1));
+		
+		//when
+		when(beerRepository.adjustQuantities(adjustments)).thenReturn(new int[] {1, 0, 0, 0});
+		when(beerRepository.findAllById(Mockito.anyCollection())).thenReturn(Collections.singletonList(expecteddBeer));
+		
+		//then
+		List<StockAdjustmentResultDTO> results = beerService.adjustStock(adjustments, false);
+		
+		assertThat(results.get(0).getStatus(), is(equalTo(StockAdjustmentStatus.APPLIED)));
+		assertThat(results.get(0).getBeer(), is(equalTo(expectedBeerDTO)));
+		assertThat(results.get(1).getStatus(), is(equalTo(StockAdjustmentStatus.STOCK_EXCEEDED)));
+		assertThat(results.get(2).getStatus(), is(equalTo(StockAdjustmentStatus.STOCK_INSUFFICIENT)));
+		assertThat(results.get(3).getStatus(), is(equalTo(StockAdjustmentStatus.NOT_FOUND)));
+		verify(beerRepository, never()).save(Mockito.any(Beer.class));
+	}
 	
+	@Test
+	void whenAtomicStockAdjustmentFailsThenThrowException() {
+		//given
+		BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+		Beer expecteddBeer = beerMapper.toModel(expectedBeerDTO);
+		List<StockAdjustmentDTO> adjustments = Arrays.asList(
+				new StockAdjustmentDTO(expectedBeerDTO.getId(), 5),
+				new StockAdjustmentDTO(expectedBeerDTO.getId(), -100));
+		
+		//when
+		when(beerRepository.adjustQuantities(adjustments)).thenReturn(new int[] {1, 0});
+		when(beerRepository.findAllById(Mockito.anyCollection())).thenReturn(Collections.singletonList(expecteddBeer));
+		
+		//then
+		assertThrows(BeerStockInsufficientException.class, ()-> beerService.adjustStock(adjustments, true));
+	}
 	
+	private Beer searchableBeer(Long id, String name, String brand) {
+		Beer beer = beerMapper.toModel(BeerDTOBuilder.builder().id(id).name(name).brand(brand).build().toBeerDTO());
+		beer.setSearchName(name.toLowerCase());
+		beer.setSearchBrand(brand.toLowerCase());
+		return beer;
+	}
 
 }
@@ -0,0 +1,82 @@
+package com.inacioalves.beer.api.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.inacioalves.beer.api.builder.BeerDTOBuilder;
+import com.inacioalves.beer.api.cache.WrittenBeerVersions;
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.exception.BeerNotFoundException;
+import com.inacioalves.beer.api.repository.BeerRepository;
+
+@SpringBootTest
+public class CatalogVersionTest {
+
+	@Autowired
+	private BeerService beerService;
+
+	@Autowired
+	private BeerRepository beerRepository;
+
+	@Autowired
+	private CatalogVersion catalogVersion;
+
+	private BeerDTO savedBeerDTO;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		BeerDTO beerDTO = BeerDTOBuilder.builder()
+				.id(null)
+				.name("Versioned Porter")
+				.build()
+				.toBeerDTO();
+		savedBeerDTO = beerService.createBeer(beerDTO);
+	}
+
+	@AfterEach
+	void tearDown() {
+		try {
+			beerService.deleteById(savedBeerDTO.getId());
+		} catch (BeerNotFoundException e) {
+			// already deleted by the test
+		}
+	}
+
+	@Test
+	void whenCatalogIsReadByAnotherInstanceThenTheETagIsTheSame() {
+		CatalogVersion otherInstance = new CatalogVersion(beerRepository, new WrittenBeerVersions("maximumSize=100"));
+
+		assertThat(otherInstance.currentETag(), equalTo(catalogVersion.currentETag()));
+	}
+
+	@Test
+	void whenBeerIsIncrementedThenTheETagChanges() throws Exception {
+		String eTag = catalogVersion.currentETag();
+
+		beerService.increment(savedBeerDTO.getId(), 1);
+
+		assertThat(catalogVersion.currentETag(), not(equalTo(eTag)));
+	}
+
+	@Test
+	void whenBeerIsReplacedByAnotherThenTheETagChanges() throws Exception {
+		String eTag = catalogVersion.currentETag();
+
+		beerService.deleteById(savedBeerDTO.getId());
+		savedBeerDTO = beerService.createBeer(BeerDTOBuilder.builder()
+				.id(null)
+				.name("Replacement Porter")
+				.build()
+				.toBeerDTO());
+
+		assertThat(catalogVersion.currentETag(), not(equalTo(eTag)));
+	}
+
+}
@@ -0,0 +1,208 @@
+package com.inacioalves.beer.api.stock;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.inacioalves.beer.api.builder.BeerDTOBuilder;
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.dto.StockAdjustmentDTO;
+import com.inacioalves.beer.api.event.StockChangedEvent;
+import com.inacioalves.beer.api.exception.BeerNotFoundException;
+import com.inacioalves.beer.api.exception.BeerStockExceededException;
+import com.inacioalves.beer.api.repository.BeerRepository;
+import com.inacioalves.beer.api.service.BeerService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = {
+		"beer.stock.write-behind.enabled=true",
+		"beer.stock.write-behind.flush-interval-ms=3600000",
+		"beer.stock.write-behind.flush-threshold=1000000"})
+public class StockWriteBehindBufferTest {
+	
+	private static final int THREADS = 16;
+	private static final long INVALID_BEER_ID = 999_999L;
+	
+	@Autowired
+	private StockWriteBehindBuffer stockWriteBehindBuffer;
+	
+	@Autowired
+	private BeerService beerService;
+	
+	@Autowired
+	private BeerRepository beerRepository;
+	
+	@Autowired
+	private List<StockChangedEvent> stockChanges;
+	
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	
+	@Autowired
+	private MeterRegistry meterRegistry;
+	
+	private BeerDTO savedBeerDTO;
+	
+	@BeforeEach
+	void setUp() throws Exception {
+		BeerDTO beerDTO = BeerDTOBuilder.builder()
+				.id(null)
+				.name("Write Behind Lager")
+				.max(500)
+				.quantity(0)
+				.build()
+				.toBeerDTO();
+		savedBeerDTO = beerService.createBeer(beerDTO);
+		stockChanges.clear();
+	}
+	
+	@AfterEach
+	void tearDown() throws Exception {
+		beerService.deleteById(savedBeerDTO.getId());
+	}
+	
+	@Test
+	void whenIncrementsAreBufferedThenTheyReachTheDatabaseOnlyOnFlush() throws Exception {
+		BeerDTO incrementedBeerDTO = beerService.increment(savedBeerDTO.getId(), 10);
+		
+		assertThat(incrementedBeerDTO.getQuantity(), equalTo(10));
+		assertThat(beerRepository.findById(savedBeerDTO.getId()).get().getQuantity(), equalTo(0));
+		assertThat(beerService.findByName(savedBeerDTO.getName()).getQuantity(), equalTo(10));
+		
+		stockWriteBehindBuffer.flush();
+		
+		assertThat(beerRepository.findById(savedBeerDTO.getId()).get().getQuantity(), equalTo(10));
+	}
+	
+	@Test
+	void whenConcurrentIncrementsExceedMaxThenOnlyTheOverflowIsRejected() throws Exception {
+		int attempts = savedBeerDTO.getMax() + 100;
+		AtomicInteger rejected = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < attempts; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					try {
+						beerService.increment(savedBeerDTO.getId(), 1);
+					} catch (BeerStockExceededException e) {
+						rejected.incrementAndGet();
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		stockWriteBehindBuffer.flush();
+		
+		assertThat(rejected.get(), equalTo(100));
+		assertThat(beerRepository.findById(savedBeerDTO.getId()).get().getQuantity(), equalTo(savedBeerDTO.getMax()));
+	}
+	
+	@Test
+	void whenBufferIsInvalidatedThenPendingIncrementsAreAddedToTheStoredQuantity() throws Exception {
+		beerService.increment(savedBeerDTO.getId(), 5);
+		
+		beerService.adjustStock(List.of(new StockAdjustmentDTO(savedBeerDTO.getId(), 1)), true);
+		
+		assertThat(beerRepository.findById(savedBeerDTO.getId()).get().getQuantity(), equalTo(6));
+	}
+	
+	@Test
+	void whenDatabaseRejectsBufferedIncrementThenItIsDroppedAndCounted() throws Exception {
+		Counter rejectedDrops = meterRegistry.counter(StockWriteBehindBuffer.DROPPED_COUNTER, "reason", "rejected");
+		double droppedBefore = rejectedDrops.count();
+		beerService.increment(savedBeerDTO.getId(), 5);
+		transactionTemplate.execute(status -> beerRepository.incrementQuantity(savedBeerDTO.getId(), 498));
+		
+		stockWriteBehindBuffer.flush();
+		stockWriteBehindBuffer.flush();
+		
+		assertThat(rejectedDrops.count() - droppedBefore, equalTo(1.0));
+		assertThat(beerRepository.findById(savedBeerDTO.getId()).get().getQuantity(), equalTo(498));
+		assertThat(beerService.increment(savedBeerDTO.getId(), 2).getQuantity(), equalTo(500));
+		assertThrows(BeerStockExceededException.class, () -> beerService.increment(savedBeerDTO.getId(), 1));
+	}
+	
+	@Test
+	void whenIncrementsAreBufferedThenStockChangesArePublishedOnlyOnceWritten() throws Exception {
+		beerService.increment(savedBeerDTO.getId(), 3);
+		beerService.increment(savedBeerDTO.getId(), 4);
+		
+		assertThat(stockChanges, empty());
+		
+		stockWriteBehindBuffer.flush();
+		
+		assertThat(stockChanges, hasSize(1));
+		assertThat(stockChanges.get(0).getPreviousQuantity(), equalTo(0));
+		assertThat(stockChanges.get(0).getQuantity(), equalTo(7));
+	}
+	
+	@Test
+	void whenAtomicAdjustmentRollsBackThenBufferedIncrementsAreKept() throws Exception {
+		beerService.increment(savedBeerDTO.getId(), 5);
+		
+		List<StockAdjustmentDTO> adjustments = Arrays.asList(
+				new StockAdjustmentDTO(savedBeerDTO.getId(), 1),
+				new StockAdjustmentDTO(INVALID_BEER_ID, 1));
+		assertThrows(BeerNotFoundException.class, () -> beerService.adjustStock(adjustments, true));
+		
+		assertThat(beerRepository.findById(savedBeerDTO.getId()).get().getQuantity(), equalTo(5));
+		assertThat(beerService.increment(savedBeerDTO.getId(), 1).getQuantity(), equalTo(6));
+	}
+	
+	@Test
+	void whenIncrementIsCalledWithInvalidIdThenThrowException() {
+		assertThrows(BeerNotFoundException.class, () -> beerService.increment(INVALID_BEER_ID, 1));
+	}
+	
+	@TestConfiguration
+	static class StockChangeRecorderConfig {
+		
+		private final List<StockChangedEvent> stockChanges = new CopyOnWriteArrayList<>();
+		
+		@Bean
+		public List<StockChangedEvent> stockChanges() {
+			return stockChanges;
+		}
+		
+		@EventListener
+		public void onStockChanged(StockChangedEvent event) {
+			stockChanges.add(event);
+		}
+		
+	}
+
+}
@@ -0,0 +1,95 @@
+package com.inacioalves.beer.api.warmup;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.inacioalves.beer.api.builder.BeerDTOBuilder;
+import com.inacioalves.beer.api.config.CacheConfig;
+import com.inacioalves.beer.api.dto.BeerDTO;
+import com.inacioalves.beer.api.service.BeerService;
+
+@SpringBootTest(properties = "beer.warmup.persist-interval-ms=3600000")
+public class BeerWarmUpTest {
+	
+	@Autowired
+	private BeerWarmUp beerWarmUp;
+	
+	@Autowired
+	private HotBeerNames hotBeerNames;
+	
+	@Autowired
+	private BeerService beerService;
+	
+	@Autowired
+	private CacheManager cacheManager;
+	
+	@Autowired
+	private ApplicationAvailability applicationAvailability;
+	
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	
+	private BeerDTO savedBeerDTO;
+	
+	@BeforeEach
+	void setUp() throws Exception {
+		BeerDTO beerDTO = BeerDTOBuilder.builder()
+				.id(null)
+				.name("Warm Pilsner")
+				.build()
+				.toBeerDTO();
+		savedBeerDTO = beerService.createBeer(beerDTO);
+	}
+	
+	@AfterEach
+	void tearDown() throws Exception {
+		beerService.deleteById(savedBeerDTO.getId());
+		jdbcTemplate.update("delete from hot_beer_name");
+	}
+	
+	@Test
+	void whenApplicationHasStartedThenItIsReadyForTraffic() {
+		assertThat(applicationAvailability.getReadinessState(), equalTo(ReadinessState.ACCEPTING_TRAFFIC));
+	}
+	
+	@Test
+	void whenWarmUpRunsThenHotBeersArePreloadedIntoTheCache() throws Exception {
+		//given
+		Cache beersByName = cacheManager.getCache(CacheConfig.BEERS_BY_NAME_CACHE);
+		jdbcTemplate.update("insert into hot_beer_name (name, hot_rank) values (?, 0), (?, 1)", savedBeerDTO.getName(), "Unknown Beer");
+		
+		//when
+		beerWarmUp.run(null);
+		
+		//then
+		assertThat(beersByName.get(savedBeerDTO.getName()), notNullValue());
+		assertThat(beersByName.get("Unknown Beer"), nullValue());
+	}
+	
+	@Test
+	void whenHotNamesArePersistedThenCachedNamesAreStoredForTheNextStart() throws Exception {
+		//given
+		beerService.findByName(savedBeerDTO.getName());
+		
+		//when
+		hotBeerNames.persist();
+		
+		//then
+		assertThat(hotBeerNames.load(), hasItem(savedBeerDTO.getName()));
+	}
+
+}
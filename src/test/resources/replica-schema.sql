@@ -0,0 +1,35 @@
+-- Schema of the replica used by ReplicaRoutingTest, mirroring the one Hibernate creates on the primary.
+CREATE TABLE IF NOT EXISTS BEER (
+	ID BIGINT NOT NULL PRIMARY KEY,
+	BRAND VARCHAR(255) NOT NULL,
+	MAX INTEGER NOT NULL,
+	NAME VARCHAR(255) NOT NULL UNIQUE,
+	QUANTITY INTEGER NOT NULL,
+	SEARCH_BRAND VARCHAR(255) NOT NULL,
+	SEARCH_NAME VARCHAR(255) NOT NULL,
+	TYPE VARCHAR(255) NOT NULL,
+	VERSION BIGINT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS IDX_BEER_SEARCH_NAME ON BEER (SEARCH_NAME);
+CREATE INDEX IF NOT EXISTS IDX_BEER_SEARCH_BRAND ON BEER (SEARCH_BRAND, SEARCH_NAME);
+CREATE INDEX IF NOT EXISTS IDX_BEER_TYPE_QUANTITY ON BEER (TYPE, QUANTITY);
+CREATE TABLE IF NOT EXISTS STOCK_MOVEMENT (
+	ID BIGINT AUTO_INCREMENT PRIMARY KEY,
+	BEER_ID BIGINT NOT NULL,
+	DELTA INTEGER NOT NULL,
+	OCCURRED_AT TIMESTAMP NOT NULL,
+	QUANTITY INTEGER NOT NULL
+);
+CREATE INDEX IF NOT EXISTS IDX_STOCK_MOVEMENT_BEER ON STOCK_MOVEMENT (BEER_ID, ID);
+CREATE TABLE IF NOT EXISTS STOCK_SNAPSHOT (
+	ID BIGINT AUTO_INCREMENT PRIMARY KEY,
+	BEER_ID BIGINT NOT NULL,
+	MOVEMENT_ID BIGINT NOT NULL,
+	QUANTITY INTEGER NOT NULL,
+	TAKEN_AT TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS IDX_STOCK_SNAPSHOT_BEER ON STOCK_SNAPSHOT (BEER_ID, MOVEMENT_ID);
+CREATE TABLE IF NOT EXISTS HOT_BEER_NAME (
+	NAME VARCHAR(255) NOT NULL PRIMARY KEY,
+	HOT_RANK INTEGER NOT NULL
+);